@@ -1,6 +1,7 @@
 package com.unihub.api.config;
 
 import com.unihub.api.filter.FirebaseTokenFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,7 +34,11 @@ public class SecurityConfig {
 
                 // Gelen HTTP istekleri için yetkilendirme kurallarını tanımlıyoruz.
                 .authorizeHttpRequests(authorize -> authorize
+                        // Akıtılan yanıtların (StreamingResponseBody) ASYNC dağıtımı; asıl istek zaten yetkilendirildi.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/register").permitAll()
+                        // İç sayaçlar (kuyruk derinlikleri, hata sayıları) sadece unihub.auth.ops-uids'deki hesaplara açıktır.
+                        .requestMatchers("/api/metrics/**").hasRole(FirebaseTokenFilter.OPS_ROLE)
                         .requestMatchers(HttpMethod.DELETE, "/api/clubs/**").authenticated()
                         .anyRequest().authenticated()
                 );
@@ -25,7 +25,7 @@ public class AuthController {
 
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(Authentication authentication, @Valid @RequestBody UserSyncRequest request) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
 
         try {
             User newUser = authService.syncNewUser(firebaseUid, request);
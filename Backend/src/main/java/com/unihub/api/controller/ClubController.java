@@ -32,21 +32,55 @@ public class ClubController {
         this.eventService = eventService;
     }
 
+    // Sayfalı ve filtrelenebilir kulüp listesi. Üye/gönderi/etkinlik listeleri için /{clubId} kullanılır.
     @GetMapping
-    public List<ClubResponse> getAllClubs(Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
-        return clubService.getAllClubsAsDto(firebaseUid);
+    public List<ClubListItemResponse> getAllClubs(
+            Authentication authentication,
+            @RequestParam(required = false) String university,
+            @RequestParam(required = false) String faculty,
+            @RequestParam(required = false) String department,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        String firebaseUid = authentication.getName();
+        return clubService.getClubList(firebaseUid, university, faculty, department, page, size);
     }
 
     @GetMapping("/{clubId}")
     public ClubDetailResponse getClubById(@PathVariable Long clubId, Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         return clubService.getClubDetails(clubId, firebaseUid); // Yeni servis metodunu çağır
     }
 
+    // Kulüp sayfasının devamı: /{clubId} sadece ilk sayfaları döndürür.
+    @GetMapping("/{clubId}/members")
+    public List<UserInClubResponse> getClubMembers(
+            @PathVariable Long clubId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return clubService.getClubMembers(clubId, page, size);
+    }
+
+    @GetMapping("/{clubId}/posts")
+    public List<PostSummaryResponse> getClubPosts(
+            @PathVariable Long clubId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        String firebaseUid = authentication.getName();
+        return clubService.getClubPosts(clubId, firebaseUid, page, size);
+    }
+
+    @GetMapping("/{clubId}/events")
+    public List<EventSummaryResponse> getClubEvents(
+            @PathVariable Long clubId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return clubService.getClubEvents(clubId, page, size);
+    }
+
     @PostMapping
     public ClubResponse createClub(@RequestBody ClubCreationRequest request, Authentication authentication) {
-        String creatorFirebaseUid = (String) authentication.getPrincipal();
+        String creatorFirebaseUid = authentication.getName();
         return clubService.createClub(request, creatorFirebaseUid);
     }
     @PutMapping("/{clubId}")
@@ -54,7 +88,7 @@ public class ClubController {
             @PathVariable Long clubId,
             @Valid @RequestBody ClubUpdateRequest request,
             Authentication authentication) {
-        String adminFirebaseUid = (String) authentication.getPrincipal();
+        String adminFirebaseUid = authentication.getName();
         return clubService.updateClubDetails(clubId, request, adminFirebaseUid);
     }
 
@@ -63,7 +97,7 @@ public class ClubController {
             @PathVariable Long clubId,
             @Valid @RequestBody NotificationSettingsRequest request,
             Authentication authentication) {
-        String memberFirebaseUid = (String) authentication.getPrincipal();
+        String memberFirebaseUid = authentication.getName();
         clubService.updateNotificationSettings(clubId, request, memberFirebaseUid);
         return ResponseEntity.ok().build();
     }
@@ -73,7 +107,7 @@ public class ClubController {
             @PathVariable Long clubId,
             @PathVariable Long userIdToRemove,
             Authentication authentication) {
-        String adminFirebaseUid = (String) authentication.getPrincipal();
+        String adminFirebaseUid = authentication.getName();
         clubService.removeMember(clubId, userIdToRemove, adminFirebaseUid);
         return ResponseEntity.noContent().build(); // 204 No Content
     }
@@ -83,7 +117,7 @@ public class ClubController {
             @PathVariable Long clubId,
             @PathVariable Long userIdToPromote,
             Authentication authentication) {
-        String adminFirebaseUid = (String) authentication.getPrincipal();
+        String adminFirebaseUid = authentication.getName();
         clubService.promoteMember(clubId, userIdToPromote, adminFirebaseUid);
         return ResponseEntity.ok().build();
     }
@@ -91,7 +125,7 @@ public class ClubController {
     @PostMapping("/{clubId}/members/{userId}/demote")
     public ResponseEntity<Void> demoteMember(@PathVariable Long clubId, @PathVariable Long userId, Authentication authentication) {
         // Spring Security kullanarak işlemi yapan admin'in kimliğini alıyoruz
-        String adminFirebaseUid = (String) authentication.getPrincipal();
+        String adminFirebaseUid = authentication.getName();
         clubService.demoteMember(clubId, userId, adminFirebaseUid);
         return ResponseEntity.ok().build();
     }
@@ -103,14 +137,14 @@ public class ClubController {
             @PathVariable Long newOwnerUserId,
             Authentication authentication) {
 
-        String currentOwnerFirebaseUid = (String) authentication.getPrincipal();
+        String currentOwnerFirebaseUid = authentication.getName();
         clubService.transferOwnership(clubId, newOwnerUserId, currentOwnerFirebaseUid);
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/{clubId}/join")
     public ResponseEntity<Void> requestToJoinClub(@PathVariable Long clubId, Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         clubService.requestToJoinClub(clubId, firebaseUid);
         return ResponseEntity.ok().build();
     }
@@ -118,7 +152,7 @@ public class ClubController {
     @DeleteMapping("/{clubId}/join")
     public ResponseEntity<Void> withdrawJoinRequest(@PathVariable Long clubId, Authentication authentication) {
         // İşlemi yapan kullanıcının kimliğini al
-        String memberFirebaseUid = (String) authentication.getPrincipal();
+        String memberFirebaseUid = authentication.getName();
 
         // Servis metodunu çağır
         clubService.withdrawJoinRequest(clubId, memberFirebaseUid);
@@ -129,27 +163,27 @@ public class ClubController {
 
     @GetMapping("/{clubId}/pending-members")
     public List<UserInClubResponse> getPendingMembers(@PathVariable Long clubId, Authentication authentication) {
-        String adminFirebaseUid = (String) authentication.getPrincipal();
+        String adminFirebaseUid = authentication.getName();
         return clubService.getPendingMembers(clubId, adminFirebaseUid);
     }
 
     @PostMapping("/{clubId}/requests/{userId}/approve")
     public ResponseEntity<Void> approveJoinRequest(@PathVariable Long clubId, @PathVariable Long userId, Authentication authentication) {
-        String adminFirebaseUid = (String) authentication.getPrincipal();
+        String adminFirebaseUid = authentication.getName();
         clubService.manageJoinRequest(clubId, userId, true, adminFirebaseUid);
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/{clubId}/requests/{userId}/reject")
     public ResponseEntity<Void> rejectJoinRequest(@PathVariable Long clubId, @PathVariable Long userId, Authentication authentication) {
-        String adminFirebaseUid = (String) authentication.getPrincipal();
+        String adminFirebaseUid = authentication.getName();
         clubService.manageJoinRequest(clubId, userId, false, adminFirebaseUid);
         return ResponseEntity.ok().build();
     }
 
     @GetMapping("/{clubId}/logs")
     public List<ClubLogResponse> getClubLogs(@PathVariable Long clubId, Authentication authentication) {
-        String adminFirebaseUid = (String) authentication.getPrincipal();
+        String adminFirebaseUid = authentication.getName();
         return clubService.getClubLogs(clubId, adminFirebaseUid);
     }
 
@@ -158,7 +192,7 @@ public class ClubController {
             @PathVariable Long clubId,
             @PathVariable Long logId,
             Authentication authentication) {
-        String ownerFirebaseUid = (String) authentication.getPrincipal();
+        String ownerFirebaseUid = authentication.getName();
         clubService.deleteClubLog(clubId, logId, ownerFirebaseUid);
         return ResponseEntity.noContent().build();
     }
@@ -168,7 +202,7 @@ public class ClubController {
             @RequestBody EventCreationRequest request,
             Authentication authentication) {
         System.out.println("Controller'a girdi");
-        String creatorFirebaseUid = (String) authentication.getPrincipal();
+        String creatorFirebaseUid = authentication.getName();
         System.out.println("Authentication'ı geçti");
         EventDetailResponse newEvent = eventService.createEventForClub(clubId, request, creatorFirebaseUid);
         System.out.println("Çalıştı");
@@ -180,7 +214,7 @@ public class ClubController {
 
     @DeleteMapping("/{clubId}/leave")
     public ResponseEntity<Void> leaveClub(@PathVariable Long clubId, Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         clubService.leaveClub(clubId, firebaseUid);
         return ResponseEntity.noContent().build();
     }
@@ -194,13 +228,23 @@ public class ClubController {
     }
 
     @GetMapping("/search")
-    public List<ClubSummaryResponse> searchClubs(@RequestParam String term) {
-        return clubService.searchClubs(term);
+    public List<ClubSummaryResponse> searchClubs(
+            @RequestParam String term,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return clubService.searchClubs(term, page, size);
+    }
+
+    @GetMapping("/autocomplete")
+    public List<ClubSummaryResponse> autocompleteClubs(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return clubService.autocompleteClubs(prefix, limit);
     }
 
     @DeleteMapping("/{clubId}")
     public ResponseEntity<Void> deleteClub(@PathVariable Long clubId, Authentication authentication) {
-        String ownerFirebaseUid = (String) authentication.getPrincipal();
+        String ownerFirebaseUid = authentication.getName();
         clubService.deleteClub(clubId, ownerFirebaseUid);
         return ResponseEntity.noContent().build();
     }
@@ -2,15 +2,22 @@ package com.unihub.api.controller;
 
 import com.unihub.api.controller.requests.EventFormSubmissionRequest;
 import com.unihub.api.controller.requests.EventUpdateRequest;
+import com.unihub.api.controller.responses.EventAttendanceResponse;
+import com.unihub.api.controller.responses.EventAttendeeResponse;
 import com.unihub.api.controller.responses.EventDetailResponse;
 import com.unihub.api.controller.responses.EventSubmissionResponse;
 import com.unihub.api.controller.responses.EventSummaryResponse;
 import com.unihub.api.service.EventService;
 import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -34,22 +41,21 @@ public class EventController {
     // If you prefer it here, you can move the createEvent method from ClubController.
 
     @PostMapping("/{eventId}/attend")
-    public ResponseEntity<Void> attendEvent(@PathVariable Long eventId, Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
-        eventService.attendEvent(eventId, firebaseUid);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<EventAttendanceResponse> attendEvent(@PathVariable Long eventId, Authentication authentication) {
+        String firebaseUid = authentication.getName();
+        return ResponseEntity.ok(eventService.attendEvent(eventId, firebaseUid));
     }
 
     @DeleteMapping("/{eventId}/leave")
     public ResponseEntity<Void> leaveEvent(@PathVariable Long eventId, Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         eventService.leaveEvent(eventId, firebaseUid);
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{eventId}")
     public ResponseEntity<EventDetailResponse> getEventById(@PathVariable Long eventId, Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         return ResponseEntity.ok(eventService.getEventById(eventId, firebaseUid));
     }
 
@@ -65,42 +71,67 @@ public class EventController {
 
     @DeleteMapping("/{eventId}")
     public ResponseEntity<Void> deleteEvent(@PathVariable Long eventId, Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         eventService.deleteEvent(eventId, firebaseUid);
         return ResponseEntity.noContent().build();
     }
 
+    // Kontenjan doluysa kullanıcı bekleme listesine alınır; cevaplar sadece koltuk ayrıldığında kaydedilir.
     @PostMapping("/{eventId}/submit-form")
-    public ResponseEntity<Void> submitEventForm(
+    public ResponseEntity<EventAttendanceResponse> submitEventForm(
             @PathVariable Long eventId,
             @RequestBody EventFormSubmissionRequest request,
             Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
-        eventService.submitEventForm(eventId, firebaseUid, request);
-        return ResponseEntity.ok().build();
+        String firebaseUid = authentication.getName();
+        return ResponseEntity.ok(eventService.submitEventForm(eventId, firebaseUid, request));
     }
 
     @GetMapping("/{eventId}/submissions")
     public ResponseEntity<List<EventSubmissionResponse>> getEventSubmissions(
             @PathVariable Long eventId,
             Authentication authentication) {
-        String adminFirebaseUid = (String) authentication.getPrincipal();
+        String adminFirebaseUid = authentication.getName();
         return ResponseEntity.ok(eventService.getEventSubmissions(eventId, adminFirebaseUid));
     }
 
+    // Form cevaplarının CSV dökümü; büyük formlar da bellekte toplanmadan akıtılır.
+    @GetMapping("/{eventId}/submissions.csv")
+    public ResponseEntity<StreamingResponseBody> exportEventSubmissions(
+            @PathVariable Long eventId,
+            Authentication authentication) {
+        String adminFirebaseUid = authentication.getName();
+        StreamingResponseBody body = eventService.exportEventSubmissions(eventId, adminFirebaseUid);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("event-" + eventId + "-submissions.csv").build().toString())
+                .body(body);
+    }
+
+    // Yöneticiler için katılımcı listesi; etkinlik detayı sadece ilk sayfayı döndürür.
+    @GetMapping("/{eventId}/attendees")
+    public List<EventAttendeeResponse> getEventAttendees(
+            @PathVariable Long eventId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        String adminFirebaseUid = authentication.getName();
+        return eventService.getEventAttendees(eventId, adminFirebaseUid, page, size);
+    }
+
     @DeleteMapping("/{eventId}/attendees/{userId}")
     public ResponseEntity<Void> removeAttendee(
             @PathVariable Long eventId,
             @PathVariable Long userId,
             Authentication authentication) {
-        String adminFirebaseUid = (String) authentication.getPrincipal();
+        String adminFirebaseUid = authentication.getName();
         eventService.removeAttendee(eventId, userId, adminFirebaseUid);
         return ResponseEntity.noContent().build();
     }
 
     @PutMapping("/{eventId}")
     public EventDetailResponse updateEvent(@PathVariable Long eventId, @Valid @RequestBody EventUpdateRequest request, Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         return eventService.updateEvent(eventId, request, firebaseUid);
     }
 }
\ No newline at end of file
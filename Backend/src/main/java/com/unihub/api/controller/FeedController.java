@@ -1,6 +1,7 @@
 package com.unihub.api.controller;
 
 import com.unihub.api.controller.responses.EventSummaryResponse;
+import com.unihub.api.controller.responses.FeedPageResponse;
 import com.unihub.api.controller.responses.PostSummaryResponse;
 import com.unihub.api.service.FeedService;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +17,9 @@ import java.util.List;
 @RequestMapping("/api/feed")
 public class FeedController {
 
+    // İmleç modunda bir sonraki sayfanın imleci bu başlıkta döner; gövde eskisi gibi liste olarak kalır.
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final FeedService feedService;
 
     public FeedController(FeedService feedService) {
@@ -28,10 +32,15 @@ public class FeedController {
             Authentication authentication,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "false") boolean onlyMemberClubs )
+            @RequestParam(defaultValue = "false") boolean onlyMemberClubs,
+            @RequestParam(required = false) String cursor)
     {
 
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
+        // 'cursor' parametresi gönderildiyse (ilk sayfa için boş) imleç tabanlı sayfalama kullanılır.
+        if (cursor != null) {
+            return toCursorResponse(feedService.getPostFeedPage(firebaseUid, cursor, size, onlyMemberClubs));
+        }
         List<PostSummaryResponse> feed = feedService.getPostFeed(firebaseUid, page, size,  onlyMemberClubs);
         return ResponseEntity.ok(feed);
     }
@@ -40,10 +49,22 @@ public class FeedController {
             Authentication authentication,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "false") boolean onlyMemberClubs) {
+            @RequestParam(defaultValue = "false") boolean onlyMemberClubs,
+            @RequestParam(required = false) String cursor) {
 
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
+        if (cursor != null) {
+            return toCursorResponse(feedService.getEventFeedPage(firebaseUid, cursor, size, onlyMemberClubs));
+        }
         List<EventSummaryResponse> feed = feedService.getEventFeed(firebaseUid, page, size, onlyMemberClubs);
         return ResponseEntity.ok(feed);
     }
+
+    private <T> ResponseEntity<List<T>> toCursorResponse(FeedPageResponse<T> feedPage) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (feedPage.nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, feedPage.nextCursor);
+        }
+        return response.body(feedPage.items);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.unihub.api.controller;
+
+import com.unihub.api.service.MetricSource;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final List<MetricSource> metricSources;
+
+    public MetricsController(List<MetricSource> metricSources) {
+        this.metricSources = metricSources;
+    }
+
+    @GetMapping
+    public Map<String, Map<String, Number>> getMetrics() {
+        Map<String, Map<String, Number>> metrics = new TreeMap<>();
+        for (MetricSource source : metricSources) {
+            metrics.put(source.getMetricName(), source.getMetrics());
+        }
+        return metrics;
+    }
+}
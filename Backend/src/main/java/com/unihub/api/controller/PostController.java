@@ -24,7 +24,7 @@ public class PostController {
 
     @GetMapping
     public List<PostSummaryResponse> getAllPosts(Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         return postService.getAllPosts(firebaseUid);
     }
 
@@ -34,21 +34,21 @@ public class PostController {
             @RequestBody PostCreationRequest request,
             Authentication authentication) {
 
-        String creatorFirebaseUid = (String) authentication.getPrincipal();
+        String creatorFirebaseUid = authentication.getName();
         PostDetailResponse newPost = postService.createPostForClub(clubId, request, creatorFirebaseUid);
         return ResponseEntity.status(201).body(newPost); // 201 Created
     }
 
     @PostMapping("/posts/{postId}/toggle-like")
     public ResponseEntity<PostSummaryResponse> toggleLike(@PathVariable Long postId, Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         PostSummaryResponse updatedPost = postService.toggleLike(postId, firebaseUid);
         return ResponseEntity.ok(updatedPost);
     }
 
     @DeleteMapping("/posts/{postId}")
     public ResponseEntity<Void> deletePost(@PathVariable Long postId, Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         postService.deletePost(postId, firebaseUid);
         return ResponseEntity.noContent().build();
     }
@@ -59,7 +59,7 @@ public class PostController {
             @Valid @RequestBody PostUpdateRequest request, // Frontend'den gelen JSON'u bu DTO ile karşılıyoruz
             Authentication authentication) {
 
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
 
         // Servis katmanındaki asıl işi yapacak olan metodu çağırıyoruz
         PostDetailResponse updatedPost = postService.updatePost(postId, request, firebaseUid);
@@ -69,7 +69,7 @@ public class PostController {
 
     @GetMapping("/posts/{postId}")
     public ResponseEntity<PostDetailResponse> getPostById(@PathVariable Long postId, Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         PostDetailResponse postDetails = postService.getPostById(postId, firebaseUid);
         return ResponseEntity.ok(postDetails);
     }
@@ -29,13 +29,16 @@ public class UserController {
     }
 
     @GetMapping("/search")
-    public List<UserSummaryResponse> searchUsers(@RequestParam String name) {
-        return userService.searchUsersByName(name);
+    public List<UserSummaryResponse> searchUsers(
+            @RequestParam String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return userService.searchUsersByName(name, page, size);
     }
 
     @GetMapping("/me")
     public ResponseEntity<UserResponse> getMyProfile(Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         UserResponse userProfile = userService.getUserProfileByFirebaseUid(firebaseUid);
         return ResponseEntity.ok(userProfile);
     }
@@ -48,7 +51,7 @@ public class UserController {
 
     @PutMapping("/me")
     public ResponseEntity<UserResponse> updateUserProfile(Authentication authentication, @RequestBody UserProfileUpdateRequest request) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         try {
             // Artık email'e gerek yok, doğrudan firebaseUid'yi servise gönderiyoruz
             UserResponse updatedUser = userService.updateUserProfile(firebaseUid, request);
@@ -60,21 +63,21 @@ public class UserController {
 
     @DeleteMapping("/me")
     public ResponseEntity<Void> deleteMyAccount(Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         userService.deleteCurrentUser(firebaseUid);
         return ResponseEntity.ok().build();
     }
 
     @DeleteMapping("/me/unverified")
     public ResponseEntity<Void> deleteMyUnverifiedAccount(Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
         userService.deleteUnverifiedUser(firebaseUid);
         return ResponseEntity.ok().build();
     }
 
     @PostMapping("/me/fcm-token")
     public ResponseEntity<Void> updateFcmToken(@RequestBody FcmTokenRequest request, Authentication authentication) {
-        String firebaseUid = (String) authentication.getPrincipal();
+        String firebaseUid = authentication.getName();
 
 
         userService.updateFcmToken(firebaseUid, request.getToken());
@@ -12,6 +12,7 @@ public class EventCreationRequest {
     public List<QuestionRequest> questions;
     public String pictureUrl;
     public String location;
+    public Integer capacity; // Boş bırakılırsa kontenjan sınırı yoktur.
     @Data
     public static class QuestionRequest {
         public String questionText;
@@ -2,6 +2,7 @@ package com.unihub.api.controller.requests;
 
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
@@ -17,4 +18,7 @@ public class EventUpdateRequest {
     public String location;
 
     public String pictureUrl;
+
+    @Positive
+    public Integer capacity; // Boş bırakılırsa kontenjan sınırı kaldırılır.
 }
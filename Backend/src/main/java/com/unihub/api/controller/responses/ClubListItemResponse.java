@@ -0,0 +1,15 @@
+package com.unihub.api.controller.responses;
+
+import com.unihub.api.model.MembershipStatus;
+
+// Kulüp listesi (GET /api/clubs) için hafif kulüp satırı.
+public class ClubListItemResponse {
+    public Long id;
+    public String name;
+    public String shortName;
+    public String profilePictureUrl;
+    public String color;
+    public int memberCount;
+    public int eventCount;
+    public MembershipStatus currentUserMembershipStatus;
+}
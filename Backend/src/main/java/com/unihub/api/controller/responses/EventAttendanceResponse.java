@@ -0,0 +1,9 @@
+package com.unihub.api.controller.responses;
+
+// "Katıl" ve form gönderme isteklerinin sonucu. Kontenjan doluysa attending false olur ve kullanıcının bekleme
+// listesindeki sırası (1'den başlar) döner.
+public class EventAttendanceResponse {
+    public boolean attending;
+    public boolean waitlisted;
+    public Integer waitlistPosition;
+}
@@ -15,6 +15,9 @@ public class EventDetailResponse {
     public UserSummaryResponse creator;
     public boolean isCurrentUserAttending;
     public int attendeeCount;
+    public Integer capacity; // null: sınırsız
+    public int waitlistCount;
+    public Integer currentUserWaitlistPosition; // kullanıcı bekleme listesinde değilse null
     public boolean canCurrentUserManage;
     public boolean isCurrentUserMemberOfClub;
     public List<EventFormQuestionResponse> formQuestions;
@@ -0,0 +1,14 @@
+package com.unihub.api.controller.responses;
+
+import java.util.List;
+
+// İmleç tabanlı akış sayfası. nextCursor null ise gösterilecek başka kayıt yoktur.
+public class FeedPageResponse<T> {
+    public List<T> items;
+    public String nextCursor;
+
+    public FeedPageResponse(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
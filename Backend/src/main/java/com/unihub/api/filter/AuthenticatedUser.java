@@ -0,0 +1,14 @@
+package com.unihub.api.filter;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+// İstek boyunca taşınan kimlik: Firebase uid'si ve veritabanındaki kullanıcı id'si.
+// Henüz kayıt olmamış kullanıcılar için (örn. /api/auth/register) userId null'dır.
+// getName() uid döndürdüğü için controller'lar authentication.getName() ile uid'ye ulaşır.
+public record AuthenticatedUser(String firebaseUid, Long userId) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return firebaseUid;
+    }
+}
@@ -0,0 +1,22 @@
+package com.unihub.api.filter;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseToken;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+@ConditionalOnProperty(name = "unihub.auth.verifier", havingValue = "firebase", matchIfMissing = true)
+public class FirebaseIdTokenVerifier implements IdTokenVerifier {
+
+    @Override
+    public VerifiedIdToken verify(String idToken) throws Exception {
+        // checkRevoked=true: iptal edilmiş oturumlar da reddedilir (Firebase'e uzak çağrı yapar).
+        FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(idToken, true);
+        Object exp = decodedToken.getClaims().get("exp");
+        Instant expiresAt = exp instanceof Number number ? Instant.ofEpochSecond(number.longValue()) : Instant.now();
+        return new VerifiedIdToken(decodedToken.getUid(), expiresAt);
+    }
+}
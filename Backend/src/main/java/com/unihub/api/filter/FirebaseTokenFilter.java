@@ -1,22 +1,47 @@
 package com.unihub.api.filter;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseToken;
+import com.unihub.api.service.CurrentUserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class FirebaseTokenFilter extends OncePerRequestFilter {
 
+    public static final String OPS_ROLE = "OPS";
+    private static final String OPS_AUTHORITY = "ROLE_" + OPS_ROLE;
+
+    private final IdTokenVerifier idTokenVerifier;
+    private final IdTokenCache idTokenCache;
+    private final CurrentUserService currentUserService;
+    // İşletim (ops) yetkisi verilen Firebase uid'leri; örn. /api/metrics sadece bunlara açıktır.
+    private final Set<String> opsUids;
+
+    public FirebaseTokenFilter(IdTokenVerifier idTokenVerifier, IdTokenCache idTokenCache, CurrentUserService currentUserService,
+                               @Value("${unihub.auth.ops-uids:}") String opsUids) {
+        this.idTokenVerifier = idTokenVerifier;
+        this.idTokenCache = idTokenCache;
+        this.currentUserService = currentUserService;
+        this.opsUids = Arrays.stream(opsUids.split(","))
+                .map(String::trim)
+                .filter(uid -> !uid.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -31,11 +56,20 @@ public class FirebaseTokenFilter extends OncePerRequestFilter {
         String idToken = header.substring(7);
 
         try {
-            FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(idToken, true);
-            String uid = decodedToken.getUid();
+            // Yakın zamanda doğrulanmış token'lar için Firebase'e tekrar gidilmez.
+            String uid = idTokenCache.getUid(idToken);
+            if (uid == null) {
+                VerifiedIdToken verified = idTokenVerifier.verify(idToken);
+                idTokenCache.put(idToken, verified);
+                uid = verified.uid();
+            }
 
+            // Kullanıcı id'si istek başına bir kez çözülür ve principal ile taşınır.
+            AuthenticatedUser principal = new AuthenticatedUser(uid, currentUserService.findUserId(uid).orElse(null));
+            List<GrantedAuthority> authorities = opsUids.contains(uid)
+                    ? List.of(new SimpleGrantedAuthority(OPS_AUTHORITY)) : List.of();
             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    uid, null, new ArrayList<>());
+                    principal, null, authorities);
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
         } catch (Exception e) {
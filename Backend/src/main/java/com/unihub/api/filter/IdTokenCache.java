@@ -0,0 +1,94 @@
+package com.unihub.api.filter;
+
+import com.unihub.api.service.MetricSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Doğrulanmış ID token'ların önbelleği. Her istekte Firebase'e iptal kontrolü için gidilmemesi içindir.
+// Token'ın kendisi değil SHA-256 özeti anahtar olarak tutulur. Kayıt, token'ın süresi (exp) dolunca
+// ya da en geç unihub.auth.revocation-check-interval-seconds sonra düşer; yani iptal edilen bir oturum
+// en fazla bu süre kadar kabul edilmeye devam edebilir. Kayıt sayısı sınırlıdır (en eski kullanılan atılır).
+@Component
+public class IdTokenCache implements MetricSource {
+
+    private final Duration revocationCheckInterval;
+    private final Map<String, CachedToken> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public IdTokenCache(@Value("${unihub.auth.revocation-check-interval-seconds:60}") long revocationCheckIntervalSeconds,
+                        @Value("${unihub.auth.token-cache-size:10000}") int maxEntries) {
+        this.revocationCheckInterval = Duration.ofSeconds(revocationCheckIntervalSeconds);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedToken> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    // Önbellekte geçerli bir kayıt varsa uid'yi, yoksa null döndürür.
+    public String getUid(String idToken) {
+        String key = hash(idToken);
+        Instant now = Instant.now();
+        synchronized (entries) {
+            CachedToken cached = entries.get(key);
+            if (cached != null && now.isBefore(cached.validUntil())) {
+                hits.increment();
+                return cached.uid();
+            }
+            if (cached != null) {
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(String idToken, VerifiedIdToken verified) {
+        Instant revocationCheckDue = Instant.now().plus(revocationCheckInterval);
+        Instant validUntil = verified.expiresAt().isBefore(revocationCheckDue) ? verified.expiresAt() : revocationCheckDue;
+        synchronized (entries) {
+            entries.put(hash(idToken), new CachedToken(verified.uid(), validUntil));
+        }
+    }
+
+    private String hash(String idToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(idToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    @Override
+    public String getMetricName() {
+        return "idTokenCache";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        synchronized (entries) {
+            metrics.put("size", entries.size());
+        }
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        return metrics;
+    }
+
+    private record CachedToken(String uid, Instant validUntil) {
+    }
+}
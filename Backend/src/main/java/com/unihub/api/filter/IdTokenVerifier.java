@@ -0,0 +1,9 @@
+package com.unihub.api.filter;
+
+// Authorization başlığındaki ID token'ı doğrular. Üretimde Firebase, ölçüm/yerel çalışmada
+// sahte doğrulayıcı kullanılır (unihub.auth.verifier=firebase|local).
+public interface IdTokenVerifier {
+
+    // Token geçersiz, süresi dolmuş ya da iptal edilmişse exception fırlatır.
+    VerifiedIdToken verify(String idToken) throws Exception;
+}
@@ -0,0 +1,24 @@
+package com.unihub.api.filter;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+// Sadece yerel ölçüm ve testler için: "local:<uid>" biçimindeki token'ları Firebase'e gitmeden kabul eder.
+// Üretimde ASLA açılmamalıdır.
+@Component
+@ConditionalOnProperty(name = "unihub.auth.verifier", havingValue = "local")
+public class LocalIdTokenVerifier implements IdTokenVerifier {
+
+    private static final String PREFIX = "local:";
+
+    @Override
+    public VerifiedIdToken verify(String idToken) {
+        if (!idToken.startsWith(PREFIX) || idToken.length() == PREFIX.length()) {
+            throw new IllegalArgumentException("Invalid local ID token.");
+        }
+        return new VerifiedIdToken(idToken.substring(PREFIX.length()), Instant.now().plus(1, ChronoUnit.HOURS));
+    }
+}
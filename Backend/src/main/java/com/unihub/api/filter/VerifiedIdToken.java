@@ -0,0 +1,7 @@
+package com.unihub.api.filter;
+
+import java.time.Instant;
+
+// Doğrulanmış token'dan ihtiyaç duyulan alanlar: kullanıcının uid'si ve token'ın son geçerlilik anı (exp).
+public record VerifiedIdToken(String uid, Instant expiresAt) {
+}
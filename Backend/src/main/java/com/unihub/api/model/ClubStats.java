@@ -0,0 +1,47 @@
+package com.unihub.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Kulüp listeleri ve keşfet ekranı için önceden hesaplanmış sayaçlar. Listeleme sırasında club_members,
+// events ve posts tabloları sayılmaz; sayaçlar ilgili değişikliklerde ClubStatsService üzerinden güncellenir.
+// Satır sadece kulüp id'si tuttuğu için ilişki tanımlanmadı; kulüp silinirken ayrıca temizlenir.
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "club_stats", indexes = {
+        @Index(name = "idx_club_stats_member_count", columnList = "member_count"),
+        @Index(name = "idx_club_stats_event_count", columnList = "event_count"),
+        @Index(name = "idx_club_stats_activity_score", columnList = "activity_score"),
+        @Index(name = "idx_club_stats_random_key", columnList = "random_key")
+})
+public class ClubStats {
+
+    @Id
+    @Column(name = "club_id")
+    private Long clubId;
+
+    // Onaylı (APPROVED) üye sayısı; bekleyen istekler sayılmaz.
+    @Column(name = "member_count", nullable = false)
+    private int memberCount;
+
+    @Column(name = "event_count", nullable = false)
+    private int eventCount;
+
+    // Tarihi henüz gelmemiş etkinlikler. Zamanla azaldığı için periyodik olarak yeniden sayılır.
+    @Column(name = "upcoming_event_count", nullable = false)
+    private int upcomingEventCount;
+
+    @Column(name = "post_count", nullable = false)
+    private int postCount;
+
+    // Son dönemdeki hareketlilik (yeni üye, gönderi, etkinlik). Periyodik olarak yarı ömre göre azaltılır.
+    @Column(name = "activity_score", nullable = false)
+    private double activityScore;
+
+    // Satır oluşturulurken atanan [0, 1) aralığında rastgele değer. Keşfet ekranındaki rastgele kulüpler
+    // tüm tabloyu RANDOM() ile sıralamak yerine rastgele bir noktadan itibaren bu indeks üzerinden okunur.
+    @Column(name = "random_key", nullable = false)
+    private double randomKey;
+}
@@ -35,6 +35,15 @@ public class Event {
     private String location;
     private String pictureURL;
 
+    // En fazla katılımcı sayısı; boş ise sınır yoktur. Dolu etkinliğe katılmak isteyenler bekleme listesine alınır.
+    private Integer capacity;
+
+    // Katılımcı sayısı, attendees satırlarını saymamak için ayrı tutulur.
+    // Sadece EventSeatAllocator/EventRepository üzerinden atomik UPDATE ile güncellenir; entity kaydedilirken
+    // yazılmaz, böylece etkinliği düzenleyen bir istek araya giren katılımları ezmez.
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "integer default 0")
+    private int attendeeCount = 0;
+
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     private List<EventFormQuestion> formQuestions = new ArrayList<>();
 
@@ -42,8 +51,4 @@ public class Event {
     protected void onCreate() {
         creationDate = LocalDateTime.now();
     }
-
-    @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<EventAttendee> attendees = new ArrayList<>();
-
 }
\ No newline at end of file
@@ -10,7 +10,9 @@ import java.util.ArrayList;
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "event_attendees")
+@Table(name = "event_attendees", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "event_id"}) // Bir kullanıcı bir etkinliğe sadece bir kez katılabilir
+})
 public class EventAttendee {
 
     @Id
@@ -0,0 +1,32 @@
+package com.unihub.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Kontenjanı dolu bir etkinlik için bekleme listesi kaydı. Sıra id'ye göredir (ilk gelen ilk alınır);
+// yer açıldığında en eski kayıt silinip katılımcıya dönüştürülür (bkz. EventSeatAllocator).
+// Satırlar sadece id tuttuğu için ilişki (@ManyToOne) tanımlanmadı.
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "event_waitlist",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"event_id", "user_id"}),
+        indexes = @Index(name = "idx_event_waitlist_event_id", columnList = "event_id, id"))
+public class EventWaitlistEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_id", nullable = false)
+    private Long eventId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
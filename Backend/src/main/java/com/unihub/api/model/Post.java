@@ -31,6 +31,12 @@ public class Post {
     private LocalDateTime creationDate;
     private String description;
 
+    // Beğeni sayısı, likes koleksiyonunu saymamak için ayrı tutulur.
+    // Sadece LikeBuffer tarafından atomik UPDATE ile güncellenir; entity kaydedilirken yazılmaz,
+    // böylece gönderiyi düzenleyen bir istek araya giren beğeni artışlarını ezmez.
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "integer default 0")
+    private int likeCount = 0;
+
     @PrePersist
     protected void onCreate() {
         creationDate = LocalDateTime.now();
@@ -0,0 +1,43 @@
+package com.unihub.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Silinmeyi bekleyen Storage dosyası (outbox). Satır, dosyayı artık gereksiz kılan değişiklikle aynı
+// transaction'da yazılır; böylece commit olan her silme kalıcı olarak kaydedilir, geri alınan silmede
+// dosyaya dokunulmaz. StorageCleanupService satırları arka planda toplu olarak işler ve siler.
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "storage_deletion_outbox",
+        indexes = @Index(name = "idx_storage_deletion_due", columnList = "next_attempt_at, id"))
+public class StorageDeletion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String bucket;
+
+    @Column(name = "object_name", nullable = false, length = 1024)
+    private String objectName;
+
+    // Başarısız deneme sayısı; üst sınıra ulaşan satırlar incelenmek üzere tabloda bırakılır.
+    @Column(nullable = false)
+    private int attempts;
+
+    // Satırın tekrar işlenebileceği en erken zaman. İşlenirken kısa bir süre ileri alınır (kiralama),
+    // böylece aynı satırı iki işçi aynı anda almaz.
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "last_error", length = 1024)
+    private String lastError;
+}
@@ -0,0 +1,37 @@
+package com.unihub.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Kullanıcının ana sayfa akışı için önceden hesaplanmış kayıt.
+// Bir gönderi oluşturulduğunda kulübün onaylı her üyesi için bir satır yazılır (fan-out-on-write),
+// akış okuması ise (user_id, created_at) üzerinden tek bir indeksli aralık taramasına dönüşür.
+// Satırlar sadece id tuttuğu için ilişki (@ManyToOne) tanımlanmadı; temizlik TimelineService üzerinden yapılır.
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "home_timeline_entries",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "post_id"}),
+        indexes = @Index(name = "idx_home_timeline_user_created", columnList = "user_id, created_at, post_id"))
+public class TimelineEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "club_id", nullable = false)
+    private Long clubId;
+
+    // Gönderinin oluşturulma tarihi; akış sıralaması bu alana göre yapılır.
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,8 @@
+package com.unihub.api.repository;
+
+// Birden çok katılımcının form cevaplarını tek sorguda toplamak için kullanılan projeksiyon.
+public interface AttendeeAnswerView {
+    Long getAttendeeId();
+    String getQuestionText();
+    String getAnswerText();
+}
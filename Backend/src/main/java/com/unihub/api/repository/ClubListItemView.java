@@ -0,0 +1,16 @@
+package com.unihub.api.repository;
+
+import com.unihub.api.model.MembershipStatus;
+
+// Kulüp listesi satırı. Sayılar club_stats tablosundan okunur; membershipStatus, mevcut kullanıcının
+// kulüpte bir üyelik kaydı yoksa null'dır.
+public interface ClubListItemView {
+    Long getId();
+    String getName();
+    String getShortName();
+    String getProfilePictureUrl();
+    String getColor();
+    int getMemberCount();
+    int getEventCount();
+    MembershipStatus getMembershipStatus();
+}
@@ -2,6 +2,9 @@ package com.unihub.api.repository;
 
 import com.unihub.api.model.ClubLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -10,5 +13,7 @@ public interface ClubLogRepository extends JpaRepository<ClubLog, Long> {
     // Bir kulübün tüm loglarını en yeniden eskiye doğru getirir
     List<ClubLog> findByClubIdOrderByTimestampDesc(Long clubId);
 
-    List<ClubLog> findByClubId(Long clubId);
+    @Modifying
+    @Query("DELETE FROM ClubLog l WHERE l.club.id = :clubId")
+    int deleteByClubId(@Param("clubId") Long clubId);
 }
\ No newline at end of file
@@ -4,7 +4,11 @@ import com.unihub.api.model.Club;
 import com.unihub.api.model.ClubMember;
 import com.unihub.api.model.MembershipStatus;
 import com.unihub.api.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -17,6 +21,10 @@ public interface ClubMemberRepository extends JpaRepository<ClubMember, Long> {
 
     Optional<ClubMember> findByClubIdAndUserId(Long clubId, Long userId);
 
+    @Query("SELECT m.id AS id, m.role AS role, m.status AS status FROM ClubMember m " +
+            "WHERE m.club.id = :clubId AND m.user.id = :userId")
+    Optional<MembershipAccessView> findAccessByClubIdAndUserId(@Param("clubId") Long clubId, @Param("userId") Long userId);
+
     List<ClubMember> findByClubIdAndStatus(Long clubId, MembershipStatus status);
 
     Optional<ClubMember> findByClubAndUserAndStatus(Club club, User user, MembershipStatus status);
@@ -25,5 +33,34 @@ public interface ClubMemberRepository extends JpaRepository<ClubMember, Long> {
 
     Optional<ClubMember> findByClubAndUser(Club clubToDelete, User owner);
 
-    Iterable<? extends ClubMember> findByClubId(Long clubId);
+    @Modifying
+    @Query("DELETE FROM ClubMember m WHERE m.club.id = :clubId")
+    int deleteByClubId(@Param("clubId") Long clubId);
+
+    @Query("SELECT m.club.id FROM ClubMember m WHERE m.user.id = :userId AND m.status = :status")
+    List<Long> findClubIdsByUserIdAndStatus(@Param("userId") Long userId, @Param("status") MembershipStatus status);
+
+    // Kulüp sayfası üye listesi, katılma sırasına göre.
+    @Query("SELECT u.id AS userId, u.name AS name, u.profilePictureUrl AS profilePictureUrl, m.role AS role, m.status AS status " +
+            "FROM ClubMember m JOIN m.user u WHERE m.club.id = :clubId ORDER BY m.id")
+    List<ClubMemberView> findMemberViewsByClubId(@Param("clubId") Long clubId, Pageable pageable);
+
+    // --- BİLDİRİM TOKEN SORGULARI ---
+    // Bildirim almak isteyen üyelerin sadece FCM token'larını döndürür; ClubMember/User entity'leri yüklenmez.
+    // Büyük kulüpler için üyelik id'sine göre parça parça (keyset) okunur: bir sonraki parça için
+    // önceki parçanın son memberId'si afterMemberId olarak verilir.
+
+    @Query("SELECT m.id AS memberId, u.fcmToken AS fcmToken FROM ClubMember m JOIN m.user u " +
+            "WHERE m.club.id = :clubId AND m.postNotificationsEnabled = true AND u.fcmToken IS NOT NULL " +
+            "AND m.id > :afterMemberId ORDER BY m.id")
+    List<MemberTokenView> findPostNotificationTokens(@Param("clubId") Long clubId,
+                                                     @Param("afterMemberId") Long afterMemberId,
+                                                     Pageable pageable);
+
+    @Query("SELECT m.id AS memberId, u.fcmToken AS fcmToken FROM ClubMember m JOIN m.user u " +
+            "WHERE m.club.id = :clubId AND m.eventNotificationsEnabled = true AND u.fcmToken IS NOT NULL " +
+            "AND m.id > :afterMemberId ORDER BY m.id")
+    List<MemberTokenView> findEventNotificationTokens(@Param("clubId") Long clubId,
+                                                      @Param("afterMemberId") Long afterMemberId,
+                                                      Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.unihub.api.repository;
+
+import com.unihub.api.model.MembershipStatus;
+import com.unihub.api.model.Role;
+
+// Kulüp sayfasındaki üye listesi satırı. ClubMember ve User entity'leri yüklenmez.
+public interface ClubMemberView {
+    Long getUserId();
+    String getName();
+    String getProfilePictureUrl();
+    Role getRole();
+    MembershipStatus getStatus();
+}
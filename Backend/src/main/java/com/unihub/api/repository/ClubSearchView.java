@@ -0,0 +1,13 @@
+package com.unihub.api.repository;
+
+// Kulüp arama indeksine yüklenen satır. Üye sayısı sıralamada kullanılır.
+public interface ClubSearchView {
+    Long getId();
+    String getName();
+    String getShortName();
+    String getProfilePictureUrl();
+    String getUniversity();
+    String getFaculty();
+    String getDepartment();
+    int getMemberCount();
+}
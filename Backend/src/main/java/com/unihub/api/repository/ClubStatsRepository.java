@@ -0,0 +1,113 @@
+package com.unihub.api.repository;
+
+import com.unihub.api.model.ClubStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ClubStatsRepository extends JpaRepository<ClubStats, Long> {
+
+    // Sayaçlar tek bir atomik UPSERT ile güncellenir; eşzamanlı katılma/ayrılma işlemleri birbirinin
+    // artışını ezmez. Satır yoksa (örn. özellikten önce oluşan kulüp) sıfırdan başlatılır.
+    @Modifying
+    @Query(value = "INSERT INTO club_stats (club_id, member_count, event_count, upcoming_event_count, post_count, activity_score, random_key) " +
+            "VALUES (:clubId, GREATEST(:members, 0), GREATEST(:events, 0), GREATEST(:upcomingEvents, 0), GREATEST(:posts, 0), :activity, random()) " +
+            "ON CONFLICT (club_id) DO UPDATE SET " +
+            "member_count = GREATEST(club_stats.member_count + :members, 0), " +
+            "event_count = GREATEST(club_stats.event_count + :events, 0), " +
+            "upcoming_event_count = GREATEST(club_stats.upcoming_event_count + :upcomingEvents, 0), " +
+            "post_count = GREATEST(club_stats.post_count + :posts, 0), " +
+            "activity_score = club_stats.activity_score + :activity", nativeQuery = true)
+    void adjust(@Param("clubId") Long clubId,
+                @Param("members") int members,
+                @Param("events") int events,
+                @Param("upcomingEvents") int upcomingEvents,
+                @Param("posts") int posts,
+                @Param("activity") double activity);
+
+    // Kullanıcı silinmeden önce çağrılır: onaylı üyesi olduğu tüm kulüplerin üye sayısını bir azaltır.
+    @Modifying
+    @Query(value = "UPDATE club_stats SET member_count = GREATEST(member_count - 1, 0) " +
+            "WHERE club_id IN (SELECT cm.club_id FROM club_members cm WHERE cm.user_id = :userId AND cm.status = 'APPROVED')",
+            nativeQuery = true)
+    void decrementMemberCountsForUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM ClubStats s WHERE s.clubId = :clubId")
+    void deleteByClubId(@Param("clubId") Long clubId);
+
+    // --- PERİYODİK BAKIM ---
+
+    @Modifying
+    @Query(value = "UPDATE club_stats SET activity_score = activity_score * :factor WHERE activity_score > 0", nativeQuery = true)
+    int decayActivityScores(@Param("factor") double factor);
+
+    // Tarihi geçen etkinlikler yaklaşan sayısından düşülür. Sadece sayacı sıfırdan büyük olan kulüpler yeniden sayılır.
+    @Modifying
+    @Query(value = "UPDATE club_stats s SET upcoming_event_count = " +
+            "(SELECT COUNT(*) FROM events e WHERE e.club_id = s.club_id AND e.event_date > :now) " +
+            "WHERE s.upcoming_event_count > 0", nativeQuery = true)
+    int refreshUpcomingEventCounts(@Param("now") LocalDateTime now);
+
+    // Sayaç satırı olmayan kulüpler (örn. özellikten önce oluşturulanlar) için satırı baştan sayarak oluşturur.
+    @Modifying
+    @Query(value = "INSERT INTO club_stats (club_id, member_count, event_count, upcoming_event_count, post_count, activity_score, random_key) " +
+            "SELECT c.id, " +
+            "(SELECT COUNT(*) FROM club_members m WHERE m.club_id = c.id AND m.status = 'APPROVED'), " +
+            "(SELECT COUNT(*) FROM events e WHERE e.club_id = c.id), " +
+            "(SELECT COUNT(*) FROM events e WHERE e.club_id = c.id AND e.event_date > :now), " +
+            "(SELECT COUNT(*) FROM posts p WHERE p.club_id = c.id), " +
+            "0, random() " +
+            "FROM clubs c WHERE NOT EXISTS (SELECT 1 FROM club_stats s WHERE s.club_id = c.id) " +
+            "ON CONFLICT (club_id) DO NOTHING", nativeQuery = true)
+    int insertMissing(@Param("now") LocalDateTime now);
+
+    // --- KEŞFET ---
+    // Tüm keşfet listeleri tek sorguda, her biri kendi indeksi üzerinden LIMIT ile okunur.
+    // Rastgele liste iki parçadır: random_key >= pivot olanlar ve (sona gelinirse) baştan devam eden
+    // random_key < pivot olanlar. Tablo hiçbir zaman RANDOM() ile sıralanmaz.
+    @Query(value =
+            "(SELECT 'topByMembers' AS \"bucket\", c.id AS \"id\", c.name AS \"name\", c.short_name AS \"shortName\", c.profile_picture_url AS \"profilePictureUrl\", " +
+            "c.university AS \"university\", c.faculty AS \"faculty\", c.department AS \"department\" " +
+            "FROM club_stats s JOIN clubs c ON c.id = s.club_id WHERE (:university IS NULL OR c.university = :university) AND (:faculty IS NULL OR c.faculty = :faculty) " +
+            "AND (:department IS NULL OR c.department = :department) " +
+            "ORDER BY s.member_count DESC, c.id LIMIT :limit) " +
+            "UNION ALL " +
+            "(SELECT 'topByEvents' AS \"bucket\", c.id AS \"id\", c.name AS \"name\", c.short_name AS \"shortName\", c.profile_picture_url AS \"profilePictureUrl\", " +
+            "c.university AS \"university\", c.faculty AS \"faculty\", c.department AS \"department\" " +
+            "FROM club_stats s JOIN clubs c ON c.id = s.club_id WHERE (:university IS NULL OR c.university = :university) AND (:faculty IS NULL OR c.faculty = :faculty) " +
+            "AND (:department IS NULL OR c.department = :department) " +
+            "ORDER BY s.event_count DESC, c.id LIMIT :limit) " +
+            "UNION ALL " +
+            "(SELECT 'mostActive' AS \"bucket\", c.id AS \"id\", c.name AS \"name\", c.short_name AS \"shortName\", c.profile_picture_url AS \"profilePictureUrl\", " +
+            "c.university AS \"university\", c.faculty AS \"faculty\", c.department AS \"department\" " +
+            "FROM club_stats s JOIN clubs c ON c.id = s.club_id WHERE s.activity_score > 0 " +
+            "AND (:university IS NULL OR c.university = :university) AND (:faculty IS NULL OR c.faculty = :faculty) " +
+            "AND (:department IS NULL OR c.department = :department) " +
+            "ORDER BY s.activity_score DESC, c.id LIMIT :limit) " +
+            "UNION ALL " +
+            "(SELECT 'randomClubs' AS \"bucket\", c.id AS \"id\", c.name AS \"name\", c.short_name AS \"shortName\", c.profile_picture_url AS \"profilePictureUrl\", " +
+            "c.university AS \"university\", c.faculty AS \"faculty\", c.department AS \"department\" " +
+            "FROM club_stats s JOIN clubs c ON c.id = s.club_id WHERE s.random_key >= :pivot " +
+            "AND (:university IS NULL OR c.university = :university) AND (:faculty IS NULL OR c.faculty = :faculty) " +
+            "AND (:department IS NULL OR c.department = :department) " +
+            "ORDER BY s.random_key LIMIT :limit) " +
+            "UNION ALL " +
+            "(SELECT 'randomWrap' AS \"bucket\", c.id AS \"id\", c.name AS \"name\", c.short_name AS \"shortName\", c.profile_picture_url AS \"profilePictureUrl\", " +
+            "c.university AS \"university\", c.faculty AS \"faculty\", c.department AS \"department\" " +
+            "FROM club_stats s JOIN clubs c ON c.id = s.club_id WHERE s.random_key < :pivot " +
+            "AND (:university IS NULL OR c.university = :university) AND (:faculty IS NULL OR c.faculty = :faculty) " +
+            "AND (:department IS NULL OR c.department = :department) " +
+            "ORDER BY s.random_key LIMIT :limit)", nativeQuery = true)
+    List<DiscoveryClubView> findDiscoveryClubs(@Param("university") String university,
+                                               @Param("faculty") String faculty,
+                                               @Param("department") String department,
+                                               @Param("pivot") double pivot,
+                                               @Param("limit") int limit);
+}
@@ -0,0 +1,13 @@
+package com.unihub.api.repository;
+
+// Keşfet sorgusunun satırı. bucket, satırın hangi listeye (en çok üyeli, rastgele vb.) ait olduğunu belirtir.
+public interface DiscoveryClubView {
+    String getBucket();
+    Long getId();
+    String getName();
+    String getShortName();
+    String getProfilePictureUrl();
+    String getUniversity();
+    String getFaculty();
+    String getDepartment();
+}
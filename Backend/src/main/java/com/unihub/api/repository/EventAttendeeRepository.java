@@ -1,21 +1,54 @@
 package com.unihub.api.repository;
 
-import com.unihub.api.model.Event;
 import com.unihub.api.model.EventAttendee;
-import com.unihub.api.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EventAttendeeRepository extends JpaRepository<EventAttendee, Long> {
-    boolean existsByUserAndEvent(User user, Event event);
-    Optional<EventAttendee> findByUserAndEvent(User user, Event event);
-    Optional<EventAttendee> findAllByEvent(Event event);
+    // (event_id, user_id) indeksiyle tek satır kontrolü; etkinliğin katılımcıları yüklenmez.
+    boolean existsByUserIdAndEventId(Long userId, Long eventId);
+    List<EventAttendee> findByEventId(Long eventId);
+
+    @Query("SELECT ea.id FROM EventAttendee ea WHERE ea.user.id = :userId AND ea.event.id = :eventId")
+    Optional<Long> findIdByUserIdAndEventId(@Param("userId") Long userId, @Param("eventId") Long eventId);
+
+    @Query("SELECT ea.event.id FROM EventAttendee ea WHERE ea.user.id = :userId")
+    List<Long> findEventIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT ea.event.id FROM EventAttendee ea WHERE ea.user.id = :userId AND ea.event.club.id = :clubId")
+    List<Long> findEventIdsByUserIdAndClubId(@Param("userId") Long userId, @Param("clubId") Long clubId);
+
+    // Koltuk ayrıldıktan sonra katılım satırını yazar. (user_id, event_id) kısıtı sayesinde aynı anda gelen
+    // iki istek çift kayıt oluşturamaz; kayıt zaten varsa hiçbir şey döndürmez.
+    @Query(value = "INSERT INTO event_attendees (user_id, event_id, joined_at) VALUES (:userId, :eventId, :joinedAt) " +
+            "ON CONFLICT (user_id, event_id) DO NOTHING RETURNING id", nativeQuery = true)
+    Optional<Long> insertIfAbsent(@Param("userId") Long userId, @Param("eventId") Long eventId,
+                                  @Param("joinedAt") LocalDateTime joinedAt);
+
+    // Yöneticiler için katılımcı listesi, katılma sırasına göre sayfa sayfa.
+    @Query("SELECT a.id AS attendeeId, u.id AS userId, u.studentID AS studentID, u.name AS name, u.surname AS surname, " +
+            "u.profilePictureUrl AS profilePictureUrl, a.joinedAt AS joinedAt " +
+            "FROM EventAttendee a JOIN a.user u WHERE a.event.id = :eventId ORDER BY a.id")
+    List<EventAttendeeView> findViewsByEventId(@Param("eventId") Long eventId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM EventAttendee ea WHERE ea.id = :attendeeId")
+    int deleteAttendeeById(@Param("attendeeId") Long attendeeId);
+
+    @Modifying
+    @Query("DELETE FROM EventAttendee ea WHERE ea.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+
     @Modifying
-    @Query("DELETE FROM EventAttendee ea WHERE ea.user.id = :userId AND ea.event.club.id = :clubId")
-    void deleteByUserIdAndEventClubId(Long userId, Long clubId);
-}
\ No newline at end of file
+    @Query("DELETE FROM EventAttendee ea WHERE ea.event.id IN (SELECT e.id FROM Event e WHERE e.club.id = :clubId)")
+    int deleteByClubId(@Param("clubId") Long clubId);
+}
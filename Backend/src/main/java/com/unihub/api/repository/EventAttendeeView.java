@@ -0,0 +1,14 @@
+package com.unihub.api.repository;
+
+import java.time.LocalDateTime;
+
+// Etkinlik katılımcı listesi satırı. EventAttendee ve User entity'leri yüklenmez.
+public interface EventAttendeeView {
+    Long getAttendeeId();
+    Long getUserId();
+    Long getStudentID();
+    String getName();
+    String getSurname();
+    String getProfilePictureUrl();
+    LocalDateTime getJoinedAt();
+}
@@ -1,9 +1,62 @@
 package com.unihub.api.repository;
 
 import com.unihub.api.model.EventFormAnswer;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface EventFormAnswerRepository extends JpaRepository<EventFormAnswer, Long> {
+
+    @Query("SELECT a.attendee.id AS attendeeId, q.questionText AS questionText, a.answerText AS answerText " +
+            "FROM EventFormAnswer a JOIN a.question q WHERE a.attendee.id IN :attendeeIds ORDER BY a.id")
+    List<AttendeeAnswerView> findViewsByAttendeeIdIn(@Param("attendeeIds") Collection<Long> attendeeIds);
+
+    String SUBMISSION_SELECT = "SELECT a.attendee.id AS attendeeId, q.id AS questionId, u.studentID AS studentID, " +
+            "u.name AS name, u.surname AS surname, at.joinedAt AS joinedAt, a.answerText AS answerText " +
+            "FROM EventFormAnswer a JOIN a.question q JOIN a.attendee at JOIN at.user u WHERE q.event.id = :eventId ";
+
+    // Soru bazlı rapor için: cevaplar soru sırasına göre gelir, tek geçişte gruplanır.
+    @Query(SUBMISSION_SELECT + "ORDER BY q.id, a.id")
+    List<EventSubmissionView> findSubmissionsByEventIdOrderByQuestion(@Param("eventId") Long eventId);
+
+    // CSV dışa aktarımı için: cevaplar katılımcı sırasına göre imleçle (fetch size) okunur, böylece
+    // her katılımcının satırı sonuç kümesinin tamamı belleğe alınmadan yazılabilir. Açık bir transaction gerekir.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(SUBMISSION_SELECT + "ORDER BY a.attendee.id, q.id, a.id")
+    Stream<EventSubmissionView> streamSubmissionsByEventIdOrderByAttendee(@Param("eventId") Long eventId);
+
+    // Listeden alınan kullanıcının bekleme sırasında verdiği cevapları yeni katılım satırına taşır.
+    @Modifying
+    @Query(value = "INSERT INTO event_form_answers (attendee_id, question_id, answer_text) " +
+            "SELECT :attendeeId, a.question_id, a.answer_text FROM event_waitlist_answers a " +
+            "JOIN event_waitlist w ON w.id = a.waitlist_id " +
+            "WHERE w.event_id = :eventId AND w.user_id = :userId ORDER BY a.id", nativeQuery = true)
+    int copyWaitlistAnswers(@Param("attendeeId") Long attendeeId, @Param("eventId") Long eventId,
+                            @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM EventFormAnswer a WHERE a.attendee.id = :attendeeId")
+    int deleteByAttendeeId(@Param("attendeeId") Long attendeeId);
+
+    @Modifying
+    @Query("DELETE FROM EventFormAnswer a WHERE a.question.id IN " +
+            "(SELECT q.id FROM EventFormQuestion q WHERE q.event.id = :eventId)")
+    int deleteByEventId(@Param("eventId") Long eventId);
+
+    // Kulüp silinirken: kulübün etkinlik formlarına verilmiş tüm cevaplar tek sorguda silinir.
+    @Modifying
+    @Query("DELETE FROM EventFormAnswer a WHERE a.question.id IN " +
+            "(SELECT q.id FROM EventFormQuestion q WHERE q.event.club.id = :clubId)")
+    int deleteByClubId(@Param("clubId") Long clubId);
 }
\ No newline at end of file
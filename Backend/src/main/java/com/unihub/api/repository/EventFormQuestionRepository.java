@@ -2,8 +2,23 @@ package com.unihub.api.repository;
 
 import com.unihub.api.model.EventFormQuestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface EventFormQuestionRepository extends JpaRepository<EventFormQuestion, Long> {
+
+    List<EventFormQuestion> findByEventIdOrderById(Long eventId);
+
+    @Modifying
+    @Query("DELETE FROM EventFormQuestion q WHERE q.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("DELETE FROM EventFormQuestion q WHERE q.event.id IN (SELECT e.id FROM Event e WHERE e.club.id = :clubId)")
+    int deleteByClubId(@Param("clubId") Long clubId);
 }
\ No newline at end of file
@@ -4,10 +4,14 @@ import com.unihub.api.model.Event;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort; // -> Sort'u import et
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime; // -> LocalDateTime'ı import et
 import java.util.List;         // -> List'i import et
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
@@ -23,5 +27,77 @@ public interface EventRepository extends JpaRepository<Event, Long> {
 
     List<Event> findByEventDateBefore(LocalDateTime dateTime, Sort sort);
 
-    List<Event> findByClubId(Long clubId);
+    @Query("SELECT e.pictureURL FROM Event e WHERE e.club.id = :clubId AND e.pictureURL IS NOT NULL")
+    List<String> findPictureUrlsByClubId(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("DELETE FROM Event e WHERE e.club.id = :clubId")
+    int deleteByClubId(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("DELETE FROM Event e WHERE e.id = :eventId")
+    int deleteEventById(@Param("eventId") Long eventId);
+
+    @Query("SELECT e.attendeeCount FROM Event e WHERE e.id = :eventId")
+    int findAttendeeCountById(@Param("eventId") Long eventId);
+
+    @Query("SELECT e.club.id FROM Event e WHERE e.id = :eventId")
+    Optional<Long> findClubIdById(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.attendeeCount = e.attendeeCount + :delta WHERE e.id = :eventId")
+    int adjustAttendeeCount(@Param("eventId") Long eventId, @Param("delta") int delta);
+
+    // Koşullu koltuk ayırma: kontenjan doluysa hiçbir satır güncellenmez (0 döner). Güncellenen satır
+    // transaction sonuna kadar kilitli kalır; aynı etkinliğe gelen diğer istekler sırayla bekler.
+    @Modifying
+    @Query("UPDATE Event e SET e.attendeeCount = e.attendeeCount + 1 " +
+            "WHERE e.id = :eventId AND (e.capacity IS NULL OR e.attendeeCount < e.capacity)")
+    int reserveSeat(@Param("eventId") Long eventId);
+
+    // Kontenjan doluyken etkinlik satırını kilitler; bekleme listesine ekleme ile yer açılması
+    // (ve sıradakinin alınması) birbirini kaçırmaz.
+    @Query(value = "SELECT id FROM events WHERE id = :eventId FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("eventId") Long eventId);
+
+    // Kullanıcının katıldığı her etkinliğin sayacını bir azaltır. Katılımlar kullanıcıyla birlikte
+    // cascade ile (ya da toplu DELETE ile) silindiği için, silmeden önce çağrılmalıdır.
+    @Modifying
+    @Query(value = "UPDATE events SET attendee_count = GREATEST(attendee_count - 1, 0) " +
+            "WHERE id IN (SELECT ea.event_id FROM event_attendees ea WHERE ea.user_id = :userId)",
+            nativeQuery = true)
+    void decrementAttendeeCountsForUser(@Param("userId") Long userId);
+
+    // Kulüp sayfası etkinlik listesi: en yeni tarihli etkinlik önce.
+    @Query("SELECT e.id AS id, e.description AS description, e.eventDate AS eventDate " +
+            "FROM Event e WHERE e.club.id = :clubId ORDER BY e.eventDate DESC, e.id DESC")
+    List<EventSummaryView> findSummariesByClubId(@Param("clubId") Long clubId, Pageable pageable);
+
+    // İmleç (keyset) sayfalaması: yaklaşan etkinlikler (eventDate, id) anahtarına göre artan sırada,
+    // verilen imleçten sonra gelenler.
+    @Query("SELECT e FROM Event e WHERE e.club.id IN :clubIds AND e.eventDate > :now " +
+            "AND (e.eventDate > :eventDate OR (e.eventDate = :eventDate AND e.id > :id)) " +
+            "ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findUpcomingByClubIdInAfter(@Param("clubIds") List<Long> clubIds,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("eventDate") LocalDateTime eventDate,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE e.club.id NOT IN :clubIds AND e.eventDate > :now " +
+            "AND (e.eventDate > :eventDate OR (e.eventDate = :eventDate AND e.id > :id)) " +
+            "ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findUpcomingByClubIdNotInAfter(@Param("clubIds") List<Long> clubIds,
+                                               @Param("now") LocalDateTime now,
+                                               @Param("eventDate") LocalDateTime eventDate,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Query("SELECT e FROM Event e WHERE e.eventDate > :now " +
+            "AND (e.eventDate > :eventDate OR (e.eventDate = :eventDate AND e.id > :id)) " +
+            "ORDER BY e.eventDate ASC, e.id ASC")
+    List<Event> findAllUpcomingAfter(@Param("now") LocalDateTime now,
+                                     @Param("eventDate") LocalDateTime eventDate,
+                                     @Param("id") Long id,
+                                     Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.unihub.api.repository;
+
+import java.time.LocalDateTime;
+
+// Form cevabı satırı; cevap, soru ve cevaplayan kullanıcı tek sorguda okunur, entity yüklenmez.
+public interface EventSubmissionView {
+    Long getAttendeeId();
+    Long getQuestionId();
+    Long getStudentID();
+    String getName();
+    String getSurname();
+    LocalDateTime getJoinedAt();
+    String getAnswerText();
+}
@@ -0,0 +1,11 @@
+package com.unihub.api.repository;
+
+import java.time.LocalDateTime;
+
+// Kulüp sayfasındaki etkinlik listesi satırı. Kulüp bilgileri çağıran tarafta zaten bilindiği için
+// sorguya katılmaz; Event entity'si (ve EAGER form soruları) yüklenmez.
+public interface EventSummaryView {
+    Long getId();
+    String getDescription();
+    LocalDateTime getEventDate();
+}
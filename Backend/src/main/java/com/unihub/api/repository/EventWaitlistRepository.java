@@ -0,0 +1,64 @@
+package com.unihub.api.repository;
+
+import com.unihub.api.model.EventWaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface EventWaitlistRepository extends JpaRepository<EventWaitlistEntry, Long> {
+
+    // Kullanıcı zaten listedeyse sırası değişmez.
+    @Modifying
+    @Query(value = "INSERT INTO event_waitlist (event_id, user_id, created_at) VALUES (:eventId, :userId, :now) " +
+            "ON CONFLICT (event_id, user_id) DO NOTHING", nativeQuery = true)
+    int enqueue(@Param("eventId") Long eventId, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // Sıradaki kişinin kullanıcı id'si. Kayıt burada silinmez: EventSeatAllocator.seat önce kayda bağlı
+    // bekleyen form cevaplarını katılım satırına taşır, ardından kaydı siler.
+    @Query(value = "SELECT user_id FROM event_waitlist WHERE event_id = :eventId " +
+            "ORDER BY id LIMIT 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    Optional<Long> findNextUserIdForUpdate(@Param("eventId") Long eventId);
+
+    // 1'den başlayan sıra numarası; kullanıcı listede değilse 0.
+    @Query(value = "SELECT COUNT(*) FROM event_waitlist w WHERE w.event_id = :eventId AND w.id <= " +
+            "(SELECT m.id FROM event_waitlist m WHERE m.event_id = :eventId AND m.user_id = :userId)", nativeQuery = true)
+    int findPosition(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    long countByEventId(Long eventId);
+
+    @Query("SELECT w.id FROM EventWaitlistEntry w WHERE w.eventId = :eventId AND w.userId = :userId")
+    Optional<Long> findIdByEventIdAndUserId(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    // Bekleme listesinden formu tekrar gönderen kullanıcının önceki cevapları. Kayıt silinince
+    // cevaplar yabancı anahtardaki ON DELETE CASCADE ile kendiliğinden silinir.
+    @Modifying
+    @Query(value = "DELETE FROM event_waitlist_answers WHERE waitlist_id = :waitlistId", nativeQuery = true)
+    int deletePendingAnswers(@Param("waitlistId") Long waitlistId);
+
+    @Modifying
+    @Query("DELETE FROM EventWaitlistEntry w WHERE w.eventId = :eventId AND w.userId = :userId")
+    int deleteByEventIdAndUserId(@Param("eventId") Long eventId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM EventWaitlistEntry w WHERE w.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("DELETE FROM EventWaitlistEntry w WHERE w.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM EventWaitlistEntry w WHERE w.eventId IN (SELECT e.id FROM Event e WHERE e.club.id = :clubId)")
+    int deleteByClubId(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("DELETE FROM EventWaitlistEntry w WHERE w.userId = :userId " +
+            "AND w.eventId IN (SELECT e.id FROM Event e WHERE e.club.id = :clubId)")
+    int deleteByUserIdAndClubId(@Param("userId") Long userId, @Param("clubId") Long clubId);
+}
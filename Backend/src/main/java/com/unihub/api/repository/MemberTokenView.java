@@ -0,0 +1,7 @@
+package com.unihub.api.repository;
+
+// Bildirim gönderimi için üyelik id'si ve kullanıcının FCM token'ı.
+public interface MemberTokenView {
+    Long getMemberId();
+    String getFcmToken();
+}
@@ -0,0 +1,11 @@
+package com.unihub.api.repository;
+
+import com.unihub.api.model.MembershipStatus;
+import com.unihub.api.model.Role;
+
+// Yetki kontrolleri için üyeliğin sadece id, rol ve durum bilgisi.
+public interface MembershipAccessView {
+    Long getId();
+    Role getRole();
+    MembershipStatus getStatus();
+}
@@ -2,8 +2,24 @@ package com.unihub.api.repository;
 
 import com.unihub.api.model.PostImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface PostImageRepository extends JpaRepository<PostImage, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT i.post.id AS postId, i.imageUrl AS imageUrl FROM PostImage i WHERE i.post.id IN :postIds ORDER BY i.id")
+    List<PostImageUrlView> findImageUrlsByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT i.imageUrl FROM PostImage i WHERE i.post.club.id = :clubId")
+    List<String> findImageUrlsByClubId(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("DELETE FROM PostImage i WHERE i.post.id IN (SELECT p.id FROM Post p WHERE p.club.id = :clubId)")
+    int deleteByClubId(@Param("clubId") Long clubId);
+}
@@ -0,0 +1,7 @@
+package com.unihub.api.repository;
+
+// Birden çok gönderinin resim URL'lerini tek sorguda toplamak için kullanılan projeksiyon.
+public interface PostImageUrlView {
+    Long getPostId();
+    String getImageUrl();
+}
@@ -4,6 +4,9 @@ import com.unihub.api.model.Post;
 import com.unihub.api.model.PostLike;
 import com.unihub.api.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +14,10 @@ import java.util.Optional;
 @Repository
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     Optional<PostLike> findByUserAndPost(User user, Post post);
-}
\ No newline at end of file
+
+    boolean existsByUserIdAndPostId(Long userId, Long postId);
+
+    @Modifying
+    @Query("DELETE FROM PostLike l WHERE l.post.id IN (SELECT p.id FROM Post p WHERE p.club.id = :clubId)")
+    int deleteByClubId(@Param("clubId") Long clubId);
+}
@@ -2,20 +2,59 @@ package com.unihub.api.repository;
 
 import com.unihub.api.model.Post;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.EntityGraph; // -> YENİ IMPORT
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
-    @EntityGraph(attributePaths = {"likes", "likes.user", "creator", "club"})
-    List<Post> findByClubIdIn(List<Long> clubIds, Pageable pageable);
+    @Modifying
+    @Query("DELETE FROM Post p WHERE p.club.id = :clubId")
+    int deleteByClubId(@Param("clubId") Long clubId);
 
-    @EntityGraph(attributePaths = {"likes", "likes.user", "creator", "club"})
-    List<Post> findByClubIdNotIn(List<Long> clubIds, Pageable pageable);
+    // --- AKIŞ SORGULARI ---
+    // Akış iki adımda okunur: önce sadece sayfadaki gönderilerin id'leri seçilir,
+    // ardından findSummariesByIdIn ile özet satırları tek sorguda getirilir.
 
-    List<Post> findByClubId(Long clubId);
+    @Query("SELECT p.id FROM Post p WHERE p.club.id NOT IN :clubIds")
+    List<Long> findIdsByClubIdNotIn(@Param("clubIds") List<Long> clubIds, Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p")
+    List<Long> findAllIds(Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p WHERE p.club.id = :clubId ORDER BY p.creationDate DESC, p.id DESC")
+    List<Long> findIdsByClubId(@Param("clubId") Long clubId, Pageable pageable);
+
+    // İmleç (keyset) sayfalaması: (creationDate, id) anahtarı verilen imleçten küçük olan gönderiler.
+    // OFFSET kullanılmadığı için N. sayfa ilk sayfa kadar ucuzdur.
+    @Query("SELECT p.id FROM Post p WHERE p.club.id NOT IN :clubIds " +
+            "AND (p.creationDate < :creationDate OR (p.creationDate = :creationDate AND p.id < :id)) " +
+            "ORDER BY p.creationDate DESC, p.id DESC")
+    List<Long> findIdsByClubIdNotInBefore(@Param("clubIds") List<Long> clubIds,
+                                          @Param("creationDate") LocalDateTime creationDate,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
+
+    @Query("SELECT p.id FROM Post p " +
+            "WHERE p.creationDate < :creationDate OR (p.creationDate = :creationDate AND p.id < :id) " +
+            "ORDER BY p.creationDate DESC, p.id DESC")
+    List<Long> findAllIdsBefore(@Param("creationDate") LocalDateTime creationDate,
+                                @Param("id") Long id,
+                                Pageable pageable);
+
+    // Özet satırları: beğeni sayısı likeCount kolonundan, mevcut kullanıcının beğenisi EXISTS ile okunur;
+    // likes koleksiyonu ve beğenen kullanıcılar belleğe alınmaz. Sıralama çağıran tarafta id listesine göre yapılır.
+    @Query("SELECT p.id AS id, p.description AS description, p.creationDate AS creationDate, " +
+            "c.name AS clubName, u.name AS creatorName, " +
+            "p.likeCount AS likeCount, " +
+            "CASE WHEN EXISTS (SELECT 1 FROM PostLike ul WHERE ul.post = p AND ul.user.id = :userId) THEN true ELSE false END AS likedByCurrentUser " +
+            "FROM Post p JOIN p.club c JOIN p.creator u WHERE p.id IN :ids")
+    List<PostSummaryView> findSummariesByIdIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
 }
@@ -0,0 +1,15 @@
+package com.unihub.api.repository;
+
+import java.time.LocalDateTime;
+
+// Akış listeleri için gönderi özet satırı (interface-based projection).
+// Post, PostLike ve User entity'leri yüklenmeden doğrudan sorgudan doldurulur.
+public interface PostSummaryView {
+    Long getId();
+    String getDescription();
+    LocalDateTime getCreationDate();
+    String getClubName();
+    String getCreatorName();
+    int getLikeCount();
+    boolean isLikedByCurrentUser();
+}
@@ -0,0 +1,49 @@
+package com.unihub.api.repository;
+
+import com.unihub.api.model.StorageDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StorageDeletionRepository extends JpaRepository<StorageDeletion, Long> {
+
+    // Tüm dosyalar tek INSERT ile kuyruğa eklenir (kulüp silinirken binlerce resim olabilir).
+    @Modifying
+    @Query(value = "INSERT INTO storage_deletion_outbox (bucket, object_name, attempts, next_attempt_at, created_at) " +
+            "SELECT t.bucket, t.object_name, 0, :now, :now " +
+            "FROM unnest(CAST(:buckets AS text[]), CAST(:objectNames AS text[])) AS t(bucket, object_name)",
+            nativeQuery = true)
+    int enqueueAll(@Param("buckets") String[] buckets, @Param("objectNames") String[] objectNames,
+                   @Param("now") LocalDateTime now);
+
+    // Zamanı gelmiş satırlardan bir grubu kiralar: next_attempt_at ileri alınır ve satırlar döner.
+    // SKIP LOCKED sayesinde birden çok uygulama örneği aynı satırları almaz.
+    @Query(value = "UPDATE storage_deletion_outbox SET next_attempt_at = :leaseUntil " +
+            "WHERE id IN (SELECT id FROM storage_deletion_outbox " +
+            "WHERE next_attempt_at <= :now AND attempts < :maxAttempts " +
+            "ORDER BY next_attempt_at, id LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "RETURNING *", nativeQuery = true)
+    List<StorageDeletion> claimDue(@Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil,
+                                   @Param("maxAttempts") int maxAttempts, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM StorageDeletion d WHERE d.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE StorageDeletion d SET d.attempts = d.attempts + 1, d.nextAttemptAt = :nextAttemptAt, " +
+            "d.lastError = :error WHERE d.id IN :ids")
+    int markFailed(@Param("ids") Collection<Long> ids, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+
+    long countByAttemptsLessThan(int attempts);
+
+    long countByAttemptsGreaterThanEqual(int attempts);
+}
@@ -0,0 +1,58 @@
+package com.unihub.api.repository;
+
+import com.unihub.api.model.TimelineEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, Long> {
+
+    // Yeni gönderiyi kulübün onaylı tüm üyelerinin akışına tek bir INSERT ... SELECT ile yazar.
+    @Modifying
+    @Query(value = "INSERT INTO home_timeline_entries (user_id, post_id, club_id, created_at) " +
+            "SELECT cm.user_id, :postId, :clubId, :createdAt FROM club_members cm " +
+            "WHERE cm.club_id = :clubId AND cm.status = 'APPROVED' " +
+            "ON CONFLICT (user_id, post_id) DO NOTHING", nativeQuery = true)
+    int fanOutPost(@Param("postId") Long postId, @Param("clubId") Long clubId, @Param("createdAt") LocalDateTime createdAt);
+
+    // Üyeliği yeni onaylanan kullanıcının akışına kulübün mevcut gönderilerini ekler.
+    @Modifying
+    @Query(value = "INSERT INTO home_timeline_entries (user_id, post_id, club_id, created_at) " +
+            "SELECT :userId, p.id, p.club_id, p.creation_date FROM posts p WHERE p.club_id = :clubId " +
+            "ON CONFLICT (user_id, post_id) DO NOTHING", nativeQuery = true)
+    int backfillClubPosts(@Param("userId") Long userId, @Param("clubId") Long clubId);
+
+    @Query("SELECT t.postId FROM TimelineEntry t WHERE t.userId = :userId ORDER BY t.createdAt DESC, t.postId DESC")
+    List<Long> findPostIds(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT t.postId FROM TimelineEntry t WHERE t.userId = :userId " +
+            "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.postId < :postId)) " +
+            "ORDER BY t.createdAt DESC, t.postId DESC")
+    List<Long> findPostIdsBefore(@Param("userId") Long userId,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("postId") Long postId,
+                                 Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.userId = :userId AND t.clubId = :clubId")
+    void deleteByUserIdAndClubId(@Param("userId") Long userId, @Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.postId = :postId")
+    void deleteByPostId(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.clubId = :clubId")
+    void deleteByClubId(@Param("clubId") Long clubId);
+
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+}
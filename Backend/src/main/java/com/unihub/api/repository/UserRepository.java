@@ -3,8 +3,12 @@ package com.unihub.api.repository; // Paket adını kontrol et
 import com.unihub.api.model.User;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +20,6 @@ public interface UserRepository extends JpaRepository<User, Long> {
     // İleride özel sorgular gerekirse buraya ekleyeceksin.
     Optional<User> findByEmail(String email);
     Optional<User> findByFirebaseUid(String firebaseUid);
-    List<User> findByNameContainingIgnoreCase(String name);
     // YENİ METODLAR: Bu e-posta veya öğrenci no'su var mı diye kontrol eder.
     boolean existsByEmail(String email);
     boolean existsByStudentID(Long studentID);
@@ -24,4 +27,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @EntityGraph(attributePaths = {"memberships.club", "attendedEvents.event.club"})
     Optional<User> findById(Long id);
 
+    // Arama indeksi (UserSearchIndex) için satırlar. Arama sorguları veritabanına gitmez.
+    @Query("SELECT u.id AS id, u.studentID AS studentID, u.name AS name, u.surname AS surname, " +
+            "u.profilePictureUrl AS profilePictureUrl FROM User u")
+    List<UserSearchView> findAllSearchViews();
+
+    @Query("SELECT u.id AS id, u.studentID AS studentID, u.name AS name, u.surname AS surname, " +
+            "u.profilePictureUrl AS profilePictureUrl FROM User u WHERE u.id = :id")
+    Optional<UserSearchView> findSearchViewById(@Param("id") Long id);
+
+    @Query("SELECT u.id FROM User u WHERE u.firebaseUid = :firebaseUid")
+    Optional<Long> findIdByFirebaseUid(@Param("firebaseUid") String firebaseUid);
+
+    // FCM'in geçersiz saydığı token'ları toplu olarak temizler. Temizlenen kullanıcı sayısı döner.
+    @Modifying
+    @Query("UPDATE User u SET u.fcmToken = NULL WHERE u.fcmToken IN :tokens")
+    int clearFcmTokens(@Param("tokens") Collection<String> tokens);
 }
\ No newline at end of file
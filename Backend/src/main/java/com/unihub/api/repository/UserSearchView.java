@@ -0,0 +1,10 @@
+package com.unihub.api.repository;
+
+// Kullanıcı arama indeksine yüklenen satır.
+public interface UserSearchView {
+    Long getId();
+    Long getStudentID();
+    String getName();
+    String getSurname();
+    String getProfilePictureUrl();
+}
@@ -6,17 +6,20 @@ import com.google.firebase.auth.UserRecord;
 import com.unihub.api.controller.requests.UserSyncRequest;
 import com.unihub.api.model.User;
 import com.unihub.api.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     public static final String DEFAULT_USER_PICTURE_URL = "https://firebasestorage.googleapis.com/v0/b/unihub-n.firebasestorage.app/o/public%2FunihubDefaultProfilePicture.jpg?alt=media&token=b9004dbe-8b02-45b5-bef8-62cff34949f8";
 
 
-    public AuthService(UserRepository userRepository) {
+    public AuthService(UserRepository userRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     public User syncNewUser(String firebaseUid, UserSyncRequest request) throws FirebaseAuthException {
@@ -52,7 +55,9 @@ public class AuthService {
         newUser.setStudentID(request.studentID);
         newUser.setSurname(request.surname);
 
-        return userRepository.save(newUser);
+        User savedUser = userRepository.save(newUser);
+        eventPublisher.publishEvent(new UserChangedEvent(savedUser.getId()));
+        return savedUser;
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.unihub.api.service;
+
+import com.google.cloud.storage.BlobId;
+
+import java.util.List;
+
+// Storage dosyalarını silen taraf. Üretimde Firebase Storage, yerelde ve testlerde bellek içi sahte bir
+// depo kullanılır (unihub.storage.backend=firebase|local).
+public interface BlobStore {
+
+    // Dosyaları tek toplu istekte siler. Sonuçlar blobIds ile aynı sıradadır: true silindi, false dosya
+    // zaten yoktu. İstek bütünüyle başarısız olursa exception fırlatılır ve grup daha sonra tekrar denenir.
+    List<Boolean> delete(List<BlobId> blobIds);
+}
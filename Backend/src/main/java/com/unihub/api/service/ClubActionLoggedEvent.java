@@ -0,0 +1,8 @@
+package com.unihub.api.service;
+
+import java.time.LocalDateTime;
+
+// Bir kulüp işlemi denetim kaydına (club_logs) yazılmak üzere kuyruğa alındığında yayınlanır.
+// Kayıt sadece id'leri taşır; işlem geri alınırsa kuyruğa hiç girmez.
+public record ClubActionLoggedEvent(Long clubId, Long actorId, String action, LocalDateTime timestamp) {
+}
@@ -0,0 +1,20 @@
+package com.unihub.api.service;
+
+import com.unihub.api.model.Club;
+
+// Kulübün keşfet sonuçlarını etkileyen bir değişiklikte (üye/etkinlik/gönderi sayıları, isim, fotoğraf)
+// yayınlanır. Keşfet önbelleği transaction commit olduktan sonra bu kulübü içerebilecek kayıtları siler.
+// previousFilters, kulübün değişiklikten önceki üniversite/fakülte/bölüm değerleridir; verilirse eski
+// değerlerle eşleşen kayıtlar da silinir (kulüp başka bir filtreye taşındığında). Sayaç değişikliklerinde boştur.
+public record ClubChangedEvent(Long clubId, Filters previousFilters) {
+
+    public ClubChangedEvent(Long clubId) {
+        this(clubId, null);
+    }
+
+    public record Filters(String university, String faculty, String department) {
+        public static Filters of(Club club) {
+            return new Filters(club.getUniversity(), club.getFaculty(), club.getDepartment());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.unihub.api.service;
+
+import com.unihub.api.controller.responses.ClubSummaryResponse;
+import com.unihub.api.repository.ClubRepository;
+import com.unihub.api.repository.ClubSearchView;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+// Kulüp adı ve kısaltması üzerinde bellek içi arama indeksi (/api/clubs/search). Yazarken tamamlama
+// (/api/clubs/autocomplete) için aynı kayıtlar ayrıca bir önek ağacında, üye sayısına göre sıralı tutulur.
+@Component
+public class ClubSearchIndex extends SearchIndexSupport<ClubSearchView, ClubSummaryResponse> {
+
+    private final ClubRepository clubRepository;
+    private volatile PrefixTrie<ClubSummaryResponse> trie = new PrefixTrie<>();
+    private final LongAdder completions = new LongAdder();
+
+    public ClubSearchIndex(ClubRepository clubRepository) {
+        this.clubRepository = clubRepository;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClubChanged(ClubChangedEvent event) {
+        refresh(event.clubId());
+    }
+
+    public List<ClubSummaryResponse> autocomplete(String prefix, int limit) {
+        completions.increment();
+        return trie.complete(prefix, limit);
+    }
+
+    @Override
+    protected void onIndexed(ClubSearchView club) {
+        trie.put(club.getId(), textOf(club), rankOf(club), toResult(club));
+    }
+
+    @Override
+    protected void onRemoved(Long id) {
+        trie.remove(id);
+    }
+
+    @Override
+    protected void onRebuilt(List<ClubSearchView> clubs) {
+        PrefixTrie<ClubSummaryResponse> rebuilt = new PrefixTrie<>();
+        for (ClubSearchView club : clubs) {
+            rebuilt.put(club.getId(), textOf(club), rankOf(club), toResult(club));
+        }
+        trie = rebuilt;
+    }
+
+    @Override
+    protected List<ClubSearchView> loadAll() {
+        return clubRepository.findAllSearchViews();
+    }
+
+    @Override
+    protected Optional<ClubSearchView> loadOne(Long id) {
+        return clubRepository.findSearchViewById(id);
+    }
+
+    @Override
+    protected Long idOf(ClubSearchView club) {
+        return club.getId();
+    }
+
+    @Override
+    protected String textOf(ClubSearchView club) {
+        return Objects.toString(club.getName(), "") + " " + Objects.toString(club.getShortName(), "");
+    }
+
+    @Override
+    protected long rankOf(ClubSearchView club) {
+        return club.getMemberCount();
+    }
+
+    @Override
+    protected ClubSummaryResponse toResult(ClubSearchView club) {
+        ClubSummaryResponse dto = new ClubSummaryResponse();
+        dto.setId(club.getId());
+        dto.setName(club.getName());
+        dto.setShortName(club.getShortName());
+        dto.setProfilePictureUrl(club.getProfilePictureUrl());
+        dto.setUniversity(club.getUniversity());
+        dto.setFaculty(club.getFaculty());
+        dto.setDepartment(club.getDepartment());
+        return dto;
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = super.getMetrics();
+        metrics.put("completions", completions.sum());
+        return metrics;
+    }
+
+    @Override
+    public String getMetricName() {
+        return "clubSearch";
+    }
+}
@@ -1,22 +1,20 @@
 package com.unihub.api.service;
 
-import com.google.cloud.storage.Blob;
-import com.google.cloud.storage.Bucket;
-import com.google.firebase.cloud.StorageClient;
 import com.unihub.api.controller.requests.ClubCreationRequest;
 import com.unihub.api.controller.requests.ClubUpdateRequest;
 import com.unihub.api.controller.requests.NotificationSettingsRequest;
 import com.unihub.api.controller.responses.*;
 import com.unihub.api.model.*;
 import com.unihub.api.repository.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.net.URL;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
-
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.LogRecord;
 import java.util.stream.Collectors;
 import com.google.firebase.auth.FirebaseAuth;
@@ -28,32 +26,71 @@ import com.google.firebase.auth.UserRecord;
 @Service
 public class ClubService {
     private final ClubRepository clubRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
     private final ClubMemberRepository clubMemberRepository;
     private final ClubLogRepository clubLogRepository;
     private final LogService logService;
-    private final StorageClient storageClient;
+    private final StorageCleanupService storageCleanupService;
+    private final MembershipCache membershipCache;
     private final EventAttendeeRepository eventAttendeeRepository;
     private final PostRepository postRepository;
     private final EventRepository eventRepository;
     private final ClubLogRepository logRepository;
+    private final TimelineService timelineService;
+    private final ClubStatsService clubStatsService;
+    private final ClubStatsRepository clubStatsRepository;
+    private final DiscoveryCache discoveryCache;
+    private final ClubSearchIndex clubSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostService postService;
+    private final PostImageRepository postImageRepository;
+    private final PostLikeRepository postLikeRepository;
+    private final EventFormQuestionRepository eventFormQuestionRepository;
+    private final EventFormAnswerRepository eventFormAnswerRepository;
+    private final EventWaitlistRepository eventWaitlistRepository;
+    private final EventSeatAllocator seatAllocator;
+    private final int detailPageSize;
     private static final String DEFAULT_CLUB_PICTURE_URL = "https://firebasestorage.googleapis.com/v0/b/unihub-n.firebasestorage.app/o/public%2FunihubDefaultClubPicture.png?alt=media&token=65787a53-8f94-410a-ba6b-28fad68837c6";
-    private static final String FIREBASE_STORAGE_BUCKET = "unihub-n.firebasestorage.app";
-    public ClubService(ClubRepository clubRepository, UserRepository userRepository,
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_AUTOCOMPLETE_SIZE = 20;
+    private static final int DISCOVERY_LIST_SIZE = 5;
+    public ClubService(ClubRepository clubRepository, CurrentUserService currentUserService,
                        ClubMemberRepository clubMemberRepository, LogService logService,
-                       ClubLogRepository clubLogRepository,  StorageClient storageClient,
+                       ClubLogRepository clubLogRepository, StorageCleanupService storageCleanupService,
                        EventAttendeeRepository eventAttendeeRepository, PostRepository postRepository
-    , EventRepository eventRepository, ClubLogRepository logRepository) {
+    , EventRepository eventRepository, ClubLogRepository logRepository, TimelineService timelineService,
+                       ClubStatsService clubStatsService, ClubStatsRepository clubStatsRepository, PostService postService,
+                       DiscoveryCache discoveryCache, ClubSearchIndex clubSearchIndex, ApplicationEventPublisher eventPublisher,
+                       PostImageRepository postImageRepository, PostLikeRepository postLikeRepository,
+                       EventFormQuestionRepository eventFormQuestionRepository, EventFormAnswerRepository eventFormAnswerRepository,
+                       MembershipCache membershipCache, EventWaitlistRepository eventWaitlistRepository,
+                       EventSeatAllocator seatAllocator,
+                       @Value("${unihub.clubs.detail-page-size:20}") int detailPageSize) {
         this.clubRepository = clubRepository;
-        this.userRepository = userRepository;
+        this.currentUserService = currentUserService;
         this.clubMemberRepository = clubMemberRepository;
         this.clubLogRepository = clubLogRepository;
         this.logService = logService;
-        this.storageClient = storageClient;
+        this.storageCleanupService = storageCleanupService;
+        this.membershipCache = membershipCache;
+        this.eventWaitlistRepository = eventWaitlistRepository;
+        this.seatAllocator = seatAllocator;
         this.eventAttendeeRepository = eventAttendeeRepository;
         this.postRepository = postRepository;
         this.eventRepository = eventRepository;
         this.logRepository = logRepository;
+        this.timelineService = timelineService;
+        this.clubStatsService = clubStatsService;
+        this.clubStatsRepository = clubStatsRepository;
+        this.discoveryCache = discoveryCache;
+        this.clubSearchIndex = clubSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.postService = postService;
+        this.postImageRepository = postImageRepository;
+        this.postLikeRepository = postLikeRepository;
+        this.eventFormQuestionRepository = eventFormQuestionRepository;
+        this.eventFormAnswerRepository = eventFormAnswerRepository;
+        this.detailPageSize = detailPageSize;
     }
 
     @Transactional
@@ -69,8 +106,7 @@ public class ClubService {
         if (clubRepository.existsByShortName(request.shortName)) {
             throw new IllegalStateException("Bu kulüp kısaltması zaten kullanılıyor.");
         }
-        User creator = userRepository.findByFirebaseUid(creatorFirebaseUid)
-                .orElseThrow(() -> new RuntimeException("Creator user not found."));
+        User creator = currentUserService.requireUser(creatorFirebaseUid);
 
         Club newClub = new Club();
         newClub.setName(request.name);
@@ -92,6 +128,8 @@ public class ClubService {
         membership.setRole(Role.OWNER);
         membership.setStatus(MembershipStatus.APPROVED);
         clubMemberRepository.save(membership);
+        eventPublisher.publishEvent(new MembershipChangedEvent(creator.getId(), savedClub.getId()));
+        clubStatsService.onMemberApproved(savedClub.getId());
         String adminName = membership.getUser().getName(); // İşlemi yapanın adını al
         String action = String.format("'%s', Kulübü oluşturdu.", adminName);
         logService.logClubAction(membership.getClub().getId(), creatorFirebaseUid, action);
@@ -99,18 +137,20 @@ public class ClubService {
     }
 
     public ClubResponse getClubById(Long clubId, String firebaseUid) {
-        User currentUser = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        Long currentUserId = currentUserService.requireUserId(firebaseUid);
         Club club = clubRepository.findById(clubId)
                 .orElseThrow(() -> new RuntimeException("Club not found with id: " + clubId));
 
-        return mapClubToClubResponse(club, currentUser.getId());
+        return mapClubToClubResponse(club, currentUserId);
     }
 
-    @Transactional
+    // Kulüp sayfası: kulüp bilgileri ve üyeler/gönderiler/etkinlikler için sadece ilk sayfalar.
+    // Devamı getClubMembers, getClubPosts ve getClubEvents ile sayfa sayfa istenir; büyük kulüplerde
+    // tüm üyelik, gönderi ve beğeni satırları tek seferde belleğe alınmaz. Gönderi özetleri transaction
+    // dışında okunması gerektiği için (bkz. PostService.getPostSummaries) metot transaction açmaz; diğer
+    // parçalar projeksiyon sorgularıdır.
     public ClubDetailResponse getClubDetails(Long clubId, String firebaseUid) {
-        User currentUser = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        Long currentUserId = currentUserService.requireUserId(firebaseUid);
 
         Club club = clubRepository.findById(clubId)
                 .orElseThrow(() -> new RuntimeException("Club not found with id: " + clubId));
@@ -125,12 +165,10 @@ public class ClubService {
         response.faculty = club.getFaculty();
         response.department = club.getDepartment();
         response.profilePictureUrl = club.getProfilePictureUrl();
-
+        response.color = club.getColor();
 
         // Mevcut kullanıcının bu kulüpteki üyeliğini bul ve DTO'ya ekle
-        club.getMembers().stream()
-                .filter(member -> member.getUser().getId().equals(currentUser.getId()))
-                .findFirst()
+        clubMemberRepository.findByClubIdAndUserId(clubId, currentUserId)
                 .ifPresent(membership -> {
                     CurrentUserMembershipResponse membershipDto = new CurrentUserMembershipResponse();
                     membershipDto.role = membership.getRole();
@@ -140,31 +178,56 @@ public class ClubService {
                     response.currentUserMembership = membershipDto;
                 });
 
-        response.members = club.getMembers().stream()
-                .map(this::mapMemberToUserInClubResponse).collect(Collectors.toList());
+        Pageable firstPage = PageRequest.of(0, detailPageSize);
+        response.members = loadMembers(clubId, firstPage);
+        response.posts = loadPosts(clubId, currentUserId, firstPage);
+        response.events = loadEvents(club, firstPage);
 
-        response.posts = club.getPosts().stream()
-                .sorted(Comparator.comparing(Post::getCreationDate).reversed())
-                .map(post -> mapPostToSummaryDto(post, currentUser.getId()))
-                .collect(Collectors.toList());
+        return response;
+    }
 
-        if (club.getEvents() != null) {
-            response.events = club.getEvents().stream()
-                    .sorted(Comparator.comparing(Event::getEventDate).reversed())
-                    .map(this::mapEventToSummaryDto)
-                    .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<UserInClubResponse> getClubMembers(Long clubId, int page, int size) {
+        if (!clubRepository.existsById(clubId)) {
+            throw new RuntimeException("Club not found with id: " + clubId);
         }
+        return loadMembers(clubId, pageRequest(page, size));
+    }
 
-        return response;
+    public List<PostSummaryResponse> getClubPosts(Long clubId, String firebaseUid, int page, int size) {
+        Long currentUserId = currentUserService.requireUserId(firebaseUid);
+        if (!clubRepository.existsById(clubId)) {
+            throw new RuntimeException("Club not found with id: " + clubId);
+        }
+        return loadPosts(clubId, currentUserId, pageRequest(page, size));
     }
 
-    public List<ClubResponse> getAllClubsAsDto(String firebaseUid) {
-        User currentUser = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+    @Transactional(readOnly = true)
+    public List<EventSummaryResponse> getClubEvents(Long clubId, int page, int size) {
+        Club club = clubRepository.findById(clubId)
+                .orElseThrow(() -> new RuntimeException("Club not found with id: " + clubId));
+        return loadEvents(club, pageRequest(page, size));
+    }
 
-        return clubRepository.findAll()
+    @Transactional(readOnly = true)
+    public List<ClubListItemResponse> getClubList(String firebaseUid, String university, String faculty, String department,
+                                                  int page, int size) {
+        Long currentUserId = currentUserService.requireUserId(firebaseUid);
+
+        return clubRepository.findListItems(currentUserId, university, faculty, department, pageRequest(page, size))
                 .stream()
-                .map(club -> mapClubToClubResponse(club, currentUser.getId()))
+                .map(club -> {
+                    ClubListItemResponse dto = new ClubListItemResponse();
+                    dto.id = club.getId();
+                    dto.name = club.getName();
+                    dto.shortName = club.getShortName();
+                    dto.profilePictureUrl = club.getProfilePictureUrl();
+                    dto.color = club.getColor();
+                    dto.memberCount = club.getMemberCount();
+                    dto.eventCount = club.getEventCount();
+                    dto.currentUserMembershipStatus = club.getMembershipStatus();
+                    return dto;
+                })
                 .collect(Collectors.toList());
     }
 
@@ -188,8 +251,7 @@ public class ClubService {
 
     @Transactional
     public void requestToJoinClub(Long clubId, String memberFirebaseUid) {
-        User user = userRepository.findByFirebaseUid(memberFirebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        User user = currentUserService.requireUser(memberFirebaseUid);
         Club club = clubRepository.findById(clubId)
                 .orElseThrow(() -> new RuntimeException("Club not found."));
 
@@ -205,13 +267,13 @@ public class ClubService {
         newRequest.setRole(Role.MEMBER);
         newRequest.setStatus(MembershipStatus.PENDING); // Durumu 'Beklemede' olarak ayarla
         clubMemberRepository.save(newRequest);
+        eventPublisher.publishEvent(new MembershipChangedEvent(user.getId(), clubId));
     }
 
     @Transactional
     public void withdrawJoinRequest(Long clubId, String memberFirebaseUid) {
         // İsteği yapan kullanıcıyı bul
-        User user = userRepository.findByFirebaseUid(memberFirebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found with UID: " + memberFirebaseUid));
+        User user = currentUserService.requireUser(memberFirebaseUid);
 
         // İlgili kulübü bul
         Club club = clubRepository.findById(clubId)
@@ -223,6 +285,7 @@ public class ClubService {
 
         // Bulunan isteği veritabanından sil
         clubMemberRepository.delete(request);
+        eventPublisher.publishEvent(new MembershipChangedEvent(user.getId(), clubId));
     }
 
     @Transactional
@@ -242,6 +305,7 @@ public class ClubService {
         // Rolü güncelle ve kaydet
         memberToDemote.setRole(Role.MEMBER);
         clubMemberRepository.save(memberToDemote);
+        eventPublisher.publishEvent(new MembershipChangedEvent(userIdToDemote, clubId));
 
         // --- LOGLAMA ---
         String adminName = adminMembership.getUser().getName(); // İşlemi yapanın adını al
@@ -274,6 +338,8 @@ public class ClubService {
         // 4. Save both changes to the database.
         clubMemberRepository.save(currentOwner);
         clubMemberRepository.save(newOwner);
+        eventPublisher.publishEvent(new MembershipChangedEvent(currentOwner.getUser().getId(), clubId));
+        eventPublisher.publishEvent(new MembershipChangedEvent(newOwnerUserId, clubId));
 
         // 5. Log the action for auditing purposes.
         String action = String.format("'%s' transferred club ownership to '%s'.",
@@ -286,6 +352,11 @@ public class ClubService {
         ClubMember adminMembership = findMembership(adminFirebaseUid, clubId, Role.OWNER, Role.MANAGER);
         ClubMember request = clubMemberRepository.findByClubIdAndUserId(clubId, userIdToManage)
                 .orElseThrow(() -> new RuntimeException("Membership request not found."));
+        // Onaylı bir üyeliğin tekrar onaylanması sayaçları ikinci kez artırır, reddedilmesi ise üyeyi siler.
+        if (request.getStatus() != MembershipStatus.PENDING) {
+            throw new IllegalStateException("No pending request found for this user and club.");
+        }
+        eventPublisher.publishEvent(new MembershipChangedEvent(userIdToManage, clubId));
 
         String adminName = adminMembership.getUser().getName();
         String targetUserName = request.getUser().getName();
@@ -293,6 +364,8 @@ public class ClubService {
         if (approve) {
             request.setStatus(MembershipStatus.APPROVED);
             clubMemberRepository.save(request);
+            timelineService.onMemberApproved(userIdToManage, clubId);
+            clubStatsService.onMemberApproved(clubId);
             // Loglama
             String action = String.format("'%s', '%s' adlı kullanıcının üyelik isteğini onayladı.", adminName, targetUserName);
             logService.logClubAction(clubId, adminFirebaseUid, action);
@@ -317,6 +390,11 @@ public class ClubService {
         String adminName = adminMembership.getUser().getName(); // İşlemi yapanın adını al
         String removedUserName = memberToRemove.getUser().getName();
         clubMemberRepository.delete(memberToRemove);
+        eventPublisher.publishEvent(new MembershipChangedEvent(userIdToRemove, clubId));
+        timelineService.onMemberLeft(userIdToRemove, clubId);
+        if (memberToRemove.getStatus() == MembershipStatus.APPROVED) {
+            clubStatsService.onMemberLeft(clubId);
+        }
 
         // --- LOGLAMA ---
         String action = String.format("'%s', '%s' adlı üyeyi kulüpten attı.", adminName, removedUserName);
@@ -335,6 +413,7 @@ public class ClubService {
 
         memberToPromote.setRole(Role.MANAGER);
         clubMemberRepository.save(memberToPromote);
+        eventPublisher.publishEvent(new MembershipChangedEvent(userIdToPromote, clubId));
 
         // --- LOGLAMA ---
         String adminName = adminMembership.getUser().getName(); // İşlemi yapanın adını al
@@ -351,6 +430,8 @@ public class ClubService {
 
         // Eski fotoğraf URL'ini al
         String oldPhotoUrl = clubToUpdate.getProfilePictureUrl();
+        // Keşfet önbelleği eski filtre değerleriyle eşleşen kayıtları da silsin diye saklanır.
+        ClubChangedEvent.Filters previousFilters = ClubChangedEvent.Filters.of(clubToUpdate);
 
         // Kısaltma ve isim/açıklama güncellemeleri
         if (request.shortName != null && !request.shortName.equals(clubToUpdate.getShortName())) {
@@ -372,28 +453,15 @@ public class ClubService {
         }
 
 
+        // Eski fotoğraf commit sonrasında arka planda silinir.
         if (oldPhotoUrl != null && !oldPhotoUrl.equals(DEFAULT_CLUB_PICTURE_URL) && !oldPhotoUrl.equals(request.profilePictureUrl)) {
-            try {
-                Bucket bucket = storageClient.bucket();
-                String filePath = new URL(oldPhotoUrl).getPath()
-                        .replace("/v0/b/" + bucket.getName() + "/o/", "")
-                        .split("\\?")[0]
-                        .replace("%2F", "/");
-
-                filePath = URLDecoder.decode(filePath, StandardCharsets.UTF_8);
-
-                Blob blob = bucket.get(filePath);
-                if (blob != null) {
-                    blob.delete();
-                    System.out.println("Eski kulüp fotoğrafı silindi: " + filePath);
-                }
-            } catch (Exception e) {
-                System.err.println("Eski kulüp fotoğrafı silinirken hata: " + e.getMessage());
-            }
+            storageCleanupService.enqueueUrls(List.of(oldPhotoUrl));
         }
         // ------------------------------------------
 
         Club updatedClub = clubRepository.save(clubToUpdate);
+        // İsim/fotoğraf keşfet listelerinde göründüğü için önbellek commit sonrasında temizlenir.
+        eventPublisher.publishEvent(new ClubChangedEvent(clubId, previousFilters));
 
         // Loglama
         String adminName = adminMembership.getUser().getName();
@@ -402,7 +470,7 @@ public class ClubService {
                 adminName, request.name, request.description, profileUrlStatus);
         logService.logClubAction(clubId, adminFirebaseUid, action);
 
-        return mapClubToClubResponse(updatedClub, userRepository.findByFirebaseUid(adminFirebaseUid).get().getId());
+        return mapClubToClubResponse(updatedClub, currentUserService.requireUserId(adminFirebaseUid));
     }
 
     public List<ClubLogResponse> getClubLogs(Long clubId, String adminFirebaseUid) {
@@ -439,10 +507,10 @@ public class ClubService {
 
     @Transactional
     public void leaveClub(Long clubId, String firebaseUid) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        User user = currentUserService.requireUser(firebaseUid);
+        Long userId = user.getId();
 
-        ClubMember membership = clubMemberRepository.findByClubIdAndUserId(clubId, user.getId())
+        ClubMember membership = clubMemberRepository.findByClubIdAndUserId(clubId, userId)
                 .orElseThrow(() -> new RuntimeException("User is not a member of this club."));
 
         // KURAL: OWNER rolündeki bir kullanıcı kulüpten ayrılamaz.
@@ -450,43 +518,68 @@ public class ClubService {
             throw new IllegalStateException("Kulüp sahibi kulüpten ayrılamaz. Lütfen önce sahipliği devredin veya kulübü silin.");
         }
 
-        // 1. Kullanıcının, bu kulübün etkinliklerine olan tüm katılımlarını sil.
-        eventAttendeeRepository.deleteByUserIdAndEventClubId(user.getId(), clubId);
+        // 1. Kullanıcının, bu kulübün etkinliklerine olan tüm katılımlarını ve bekleme listesi kayıtlarını sil.
+        // Katılımlar tek tek bırakılır; böylece sayaçlar düşer ve boşalan koltuklara sıradakiler alınır.
+        eventAttendeeRepository.findEventIdsByUserIdAndClubId(userId, clubId)
+                .forEach(eventId -> seatAllocator.release(eventId, userId));
+        eventWaitlistRepository.deleteByUserIdAndClubId(userId, clubId);
 
-        // 2. Kullanıcının üyelik kaydını sil.
+        // 2. Kullanıcının üyelik kaydını ve ana sayfa akışındaki kulüp gönderilerini sil.
         clubMemberRepository.delete(membership);
+        eventPublisher.publishEvent(new MembershipChangedEvent(userId, clubId));
+        timelineService.onMemberLeft(userId, clubId);
+        if (membership.getStatus() == MembershipStatus.APPROVED) {
+            clubStatsService.onMemberLeft(clubId);
+        }
 
         // 3. Loglama
         String action = String.format("'%s' kulüpten ayrıldı.", user.getName());
         logService.logClubAction(clubId, firebaseUid, action);
     }
 
-    public List<ClubSummaryResponse> searchClubs(String searchTerm) {
+    // Arama bellek içi indeksten yapılır; sonuçlar ilgiye, sonra üye sayısına göre sıralıdır.
+    public List<ClubSummaryResponse> searchClubs(String searchTerm, int page, int size) {
         if (searchTerm == null || searchTerm.trim().isEmpty()) {
             return Collections.emptyList();
         }
-        return clubRepository.searchByNameOrShortName(searchTerm).stream()
-                .map(this::mapClubToSummaryResponse) // Basit bir DTO'ya çevir
-                .collect(Collectors.toList());
+        Pageable pageable = pageRequest(page, size);
+        return clubSearchIndex.search(searchTerm, (int) pageable.getOffset(), pageable.getPageSize());
     }
 
-    public Map<String, List<ClubSummaryResponse>> getDiscoveryData(String university, String faculty, String department) {
-        Map<String, List<ClubSummaryResponse>> discoveryData = new HashMap<>();
-
-        List<ClubSummaryResponse> topByMembers = clubRepository.findFilteredAndSortedClubs(university, faculty, department, "memberCount", 5)
-                .stream().map(this::mapClubToSummaryResponse).collect(Collectors.toList());
-
-        List<ClubSummaryResponse> topByEvents = clubRepository.findFilteredAndSortedClubs(university, faculty, department, "eventCount", 5)
-                .stream().map(this::mapClubToSummaryResponse).collect(Collectors.toList());
+    // Arama çubuğunda her tuş vuruşunda çağrılır; önek ağacından, veritabanına gitmeden ve üye sayısına
+    // göre sıralı döner.
+    public List<ClubSummaryResponse> autocompleteClubs(String prefix, int limit) {
+        return clubSearchIndex.autocomplete(prefix, Math.min(limit, MAX_AUTOCOMPLETE_SIZE));
+    }
 
-        List<ClubSummaryResponse> randomClubs = clubRepository.findFilteredAndSortedClubs(university, faculty, department, "random", 5)
-                .stream().map(this::mapClubToSummaryResponse).collect(Collectors.toList());
+    // Keşfet ekranı: tüm listeler club_stats üzerinden tek sorguda okunur ve filtre üçlüsüne göre
+    // önbelleğe alınır. Rastgele liste de önbellek süresi boyunca aynı kalır. Metot transaction açmaz;
+    // aksi halde aynı anahtarı bekleyen her istek beklerken bir veritabanı bağlantısı tutardı.
+    public Map<String, List<ClubSummaryResponse>> getDiscoveryData(String university, String faculty, String department) {
+        return discoveryCache.get(university, faculty, department,
+                () -> loadDiscoveryData(university, faculty, department));
+    }
 
-        discoveryData.put("topByMembers", topByMembers);
-        discoveryData.put("topByEvents", topByEvents);
-        discoveryData.put("randomClubs", randomClubs);
+    private Map<String, List<ClubSummaryResponse>> loadDiscoveryData(String university, String faculty, String department) {
+        Map<String, List<ClubSummaryResponse>> discoveryData = new HashMap<>();
+        discoveryData.put("topByMembers", new ArrayList<>());
+        discoveryData.put("topByEvents", new ArrayList<>());
+        discoveryData.put("mostActive", new ArrayList<>());
+        discoveryData.put("randomClubs", new ArrayList<>());
+
+        double pivot = ThreadLocalRandom.current().nextDouble();
+        for (DiscoveryClubView club : clubStatsRepository.findDiscoveryClubs(university, faculty, department, pivot, DISCOVERY_LIST_SIZE)) {
+            // Pivot'tan sonra yeterli kulüp yoksa rastgele liste baştan (randomWrap) tamamlanır.
+            String bucket = "randomWrap".equals(club.getBucket()) ? "randomClubs" : club.getBucket();
+            List<ClubSummaryResponse> list = discoveryData.get(bucket);
+            if (list.size() < DISCOVERY_LIST_SIZE) {
+                list.add(mapDiscoveryClubToSummaryResponse(club));
+            }
+        }
 
-        return discoveryData;
+        // Sonuç önbellekte istekler arasında paylaşıldığı için değiştirilemez hale getirilir.
+        discoveryData.replaceAll((bucket, clubs) -> List.copyOf(clubs));
+        return Map.copyOf(discoveryData);
     }
 
     @Transactional
@@ -495,8 +588,7 @@ public class ClubService {
         Club clubToDelete = clubRepository.findById(clubId)
                 .orElseThrow(() -> new RuntimeException("Club not found."));
 
-        User owner = userRepository.findByFirebaseUid(ownerFirebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        User owner = currentUserService.requireUser(ownerFirebaseUid);
 
         // 2. Yetki Kontrolü: Sadece kulüp sahibi kulübü silebilir
         ClubMember ownerMembership = clubMemberRepository.findByClubAndUser(clubToDelete, owner)
@@ -506,42 +598,37 @@ public class ClubService {
             throw new SecurityException("Only the club owner can delete the club.");
         }
 
-        // 3. KULÜBE BAĞLI TÜM KAYITLARI TEMİZLE (MANUAL CASCADE DELETE)
-
-        // a. Kulübün tüm gönderilerini sil (Bu işlem resimleri de storage'dan silmeli)
-        List<Post> postsToDelete = postRepository.findByClubId(clubId);
-        for (Post post : postsToDelete) {
-            // PostService'teki deletePost metodu, resimleri de sildiği için onu kullanmak en iyisi.
-            // Bu metodun, gönderiyi silmeye çalışan kişinin yetkisini kontrol etmediğini varsayıyoruz
-            // veya bu senaryo için yetki kontrolünü geçici olarak atlayacak bir versiyonu olmalı.
-            // Basitlik adına, direkt repository'den silelim ve resim silmeyi burada yönetelim.
-            if (post.getImages() != null && !post.getImages().isEmpty()) {
-                for (PostImage image : post.getImages()) {
-                    deleteImageFromStorage(image.getImageUrl()); // Bu metodun ClubService içinde de olması gerekir
-                }
-            }
+        // 3. Storage'dan silinecek dosyaların URL'leri, kayıtlar silinmeden önce toplanır.
+        List<String> orphanedFiles = new ArrayList<>(postImageRepository.findImageUrlsByClubId(clubId));
+        orphanedFiles.addAll(eventRepository.findPictureUrlsByClubId(clubId));
+        if (clubToDelete.getProfilePictureUrl() != null && !clubToDelete.getProfilePictureUrl().equals(DEFAULT_CLUB_PICTURE_URL)) {
+            orphanedFiles.add(clubToDelete.getProfilePictureUrl());
         }
-        postRepository.deleteAll(postsToDelete);
-
-
-        // b. Kulübün tüm etkinliklerini sil
-        // Not: Etkinliklerin de katılımcıları vb. olabilir, onların da temizlenmesi gerekebilir.
-        // Şimdilik direkt siliyoruz.
-        eventRepository.deleteAll(eventRepository.findByClubId(clubId));
-
-        // c. Kulübün tüm üyeliklerini sil
-        clubMemberRepository.deleteAll(clubMemberRepository.findByClubId(clubId));
 
-        // d. Kulübün tüm log kayıtlarını sil
-        logRepository.deleteAll(logRepository.findByClubId(clubId));
-
-        // 4. SON OLARAK KULÜBÜN KENDİSİNİ VE PROFİL FOTOĞRAFINI SİL
-        deleteImageFromStorage(clubToDelete.getProfilePictureUrl());
+        // 4. Kulübe bağlı kayıtlar yabancı anahtar sırasıyla, her tablo için tek bir DELETE ile silinir.
+        // Satırlar belleğe yüklenmez; kulübün büyüklüğünden bağımsız olarak sabit sayıda sorgu çalışır.
+        timelineService.onClubDeleted(clubId);
+        clubStatsService.onClubDeleted(clubId);
+        eventFormAnswerRepository.deleteByClubId(clubId);
+        eventAttendeeRepository.deleteByClubId(clubId);
+        eventWaitlistRepository.deleteByClubId(clubId);
+        eventFormQuestionRepository.deleteByClubId(clubId);
+        eventRepository.deleteByClubId(clubId);
+        postLikeRepository.deleteByClubId(clubId);
+        postImageRepository.deleteByClubId(clubId);
+        postRepository.deleteByClubId(clubId);
+        clubMemberRepository.deleteByClubId(clubId);
+        eventPublisher.publishEvent(new MembershipChangedEvent(null, clubId));
+        logRepository.deleteByClubId(clubId);
         clubRepository.delete(clubToDelete);
+
+        // 5. Dosyalar aynı transaction'da silme kuyruğuna yazılır ve commit sonrasında arka planda toplu olarak
+        // silinir; silme geri alınırsa dosyalara dokunulmaz.
+        storageCleanupService.enqueueUrls(orphanedFiles);
     }
     // --- YARDIMCI METODLAR ---
 
-    private ClubSummaryResponse mapClubToSummaryResponse(Club club) {
+    private ClubSummaryResponse mapDiscoveryClubToSummaryResponse(DiscoveryClubView club) {
         ClubSummaryResponse dto = new ClubSummaryResponse();
         dto.setId(club.getId());
         dto.setName(club.getName());
@@ -565,43 +652,56 @@ public class ClubService {
         response.department = club.getDepartment();
         response.color = club.getColor();
 
-        if (club.getMembers() != null) {
-            response.members = club.getMembers().stream()
-                    .map(this::mapMemberToUserInClubResponse).collect(Collectors.toList());
-        }
+        Pageable firstPage = PageRequest.of(0, detailPageSize);
+        response.members = loadMembers(club.getId(), firstPage);
+        response.posts = loadPosts(club.getId(), currentUserId, firstPage);
+        response.events = loadEvents(club, firstPage);
 
-        if (club.getPosts() != null) {
-            response.posts = club.getPosts().stream()
-                    .sorted(Comparator.comparing(Post::getCreationDate).reversed())
-                    .map(post -> mapPostToSummaryDto(post, currentUserId))
-                    .collect(Collectors.toList());
-        }
+        return response;
+    }
 
-        if (club.getEvents() != null) {
-            response.events = club.getEvents().stream()
-                    .sorted(Comparator.comparing(Event::getEventDate).reversed())
-                    .map(this::mapEventToSummaryDto)
-                    .collect(Collectors.toList());
-        }
+    private List<UserInClubResponse> loadMembers(Long clubId, Pageable pageable) {
+        return clubMemberRepository.findMemberViewsByClubId(clubId, pageable).stream()
+                .map(member -> {
+                    UserInClubResponse userDto = new UserInClubResponse();
+                    userDto.userId = member.getUserId();
+                    userDto.name = member.getName();
+                    userDto.profilePictureUrl = member.getProfilePictureUrl();
+                    userDto.role = member.getRole();
+                    userDto.status = member.getStatus();
+                    return userDto;
+                })
+                .collect(Collectors.toList());
+    }
 
+    private List<PostSummaryResponse> loadPosts(Long clubId, Long currentUserId, Pageable pageable) {
+        return postService.getPostSummaries(postRepository.findIdsByClubId(clubId, pageable), currentUserId);
+    }
 
-        return response;
+    private List<EventSummaryResponse> loadEvents(Club club, Pageable pageable) {
+        return eventRepository.findSummariesByClubId(club.getId(), pageable).stream()
+                .map(event -> {
+                    EventSummaryResponse dto = new EventSummaryResponse();
+                    dto.id = event.getId();
+                    dto.description = event.getDescription();
+                    dto.eventDate = event.getEventDate();
+                    dto.clubId = club.getId();
+                    dto.clubName = club.getName();
+                    dto.clubProfilePictureUrl = club.getProfilePictureUrl();
+                    return dto;
+                })
+                .collect(Collectors.toList());
     }
 
+    private Pageable pageRequest(int page, int size) {
+        return PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // Yetki kontrolü önbellekten yapılır. Dönen üyelik bir referanstır (proxy); satır sadece alanlarına
+    // erişildiğinde id ile okunur, yalnızca kontrol için çağrıldığında veritabanına gidilmez.
     private ClubMember findMembership(String firebaseUid, Long clubId, Role... allowedRoles) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
-        ClubMember membership = clubMemberRepository.findByClubIdAndUserId(clubId, user.getId())
-                .orElseThrow(() -> new RuntimeException("User is not a member of this club."));
-        if (allowedRoles == null || allowedRoles.length == 0) {
-            return membership;
-        }
-        for (Role allowedRole : allowedRoles) {
-            if (membership.getRole() == allowedRole) {
-                return membership;
-            }
-        }
-        throw new SecurityException("User does not have the required role for this action.");
+        MembershipCache.Membership membership = membershipCache.require(firebaseUid, clubId, allowedRoles);
+        return clubMemberRepository.getReferenceById(membership.id());
     }
 
     private String generateRandomHexColor() {
@@ -621,95 +721,4 @@ public class ClubService {
         userDto.status = member.getStatus();
         return userDto;
     }
-
-    private PostSummaryResponse mapPostToSummaryDto(Post post, Long currentUserId) {
-        PostSummaryResponse dto = new PostSummaryResponse();
-        dto.id = post.getId();
-        dto.description = post.getDescription();
-        dto.pictureURLs = post.getImages().stream().map(PostImage::getImageUrl).collect(Collectors.toList());
-        dto.creationDate = post.getCreationDate();
-        if (post.getClub() != null) dto.clubName = post.getClub().getName();
-        if (post.getCreator() != null) dto.creatorName = post.getCreator().getName();
-
-        if (post.getLikes() != null) {
-            dto.likeCount = post.getLikes().size();
-            if (currentUserId != null) {
-                dto.isLikedByCurrentUser = post.getLikes().stream()
-                        .anyMatch(like -> like.getUser().getId().equals(currentUserId));
-            }
-        }
-        return dto;
-    }
-
-    private EventSummaryResponse mapEventToSummaryDto(Event event) {
-        EventSummaryResponse dto = new EventSummaryResponse();
-        dto.id = event.getId();
-        dto.description = event.getDescription();
-        dto.eventDate = event.getEventDate();
-
-        if (event.getClub() != null) {
-            dto.clubId = event.getClub().getId();
-            dto.clubName = event.getClub().getName();
-            dto.clubProfilePictureUrl = event.getClub().getProfilePictureUrl();
-        }
-        return dto;
-    }
-
-    private void deleteFileFromStorage(String fileUrl) {
-        if (fileUrl == null || fileUrl.isEmpty()) {
-            System.out.println("STORAGE LOG: Silinecek dosya URL'i boş veya null, işlem atlanıyor.");
-            return;
-        }
-        System.out.println("STORAGE LOG: Dosya silme işlemi başlıyor. URL: " + fileUrl);
-        try {
-            Bucket bucket = storageClient.bucket();
-            String filePath = new URL(fileUrl).getPath()
-                    .replace("/v0/b/" + bucket.getName() + "/o/", "")
-                    .split("\\?")[0];
-
-            filePath = URLDecoder.decode(filePath, StandardCharsets.UTF_8);
-            System.out.println("STORAGE LOG: Hesaplanmış dosya yolu: " + filePath);
-
-            Blob blob = bucket.get(filePath);
-            if (blob != null) {
-                blob.delete();
-                System.out.println("STORAGE LOG: BAŞARILI! Dosya silindi: " + filePath);
-            } else {
-                System.out.println("STORAGE LOG: UYARI! Dosya bulunamadı: " + filePath);
-            }
-        } catch (Exception e) {
-            System.err.println("STORAGE LOG: HATA! Storage'dan dosya silinirken hata: " + e.getMessage());
-        }
-    }
-
-    private void deleteImageFromStorage(String imageUrl) {
-        if (imageUrl == null || imageUrl.isEmpty()) {
-            System.out.println("STORAGE LOG: Silinecek resim URL'i boş veya null, işlem atlanıyor.");
-            return;
-        }
-        System.out.println("STORAGE LOG: Resim silme işlemi başlıyor. URL: " + imageUrl);
-        try {
-            Bucket bucket = storageClient.bucket(FIREBASE_STORAGE_BUCKET);
-            URL url = new URL(imageUrl);
-            String path = url.getPath();
-            String prefix = "/v0/b/" + FIREBASE_STORAGE_BUCKET + "/o/";
-            if (path.startsWith(prefix)) {
-                String filePath = path.substring(prefix.length());
-                filePath = URLDecoder.decode(filePath, StandardCharsets.UTF_8);
-                System.out.println("STORAGE LOG: Hesaplanmış resim yolu: " + filePath);
-
-                Blob blob = bucket.get(filePath);
-                if (blob != null) {
-                    blob.delete();
-                    System.out.println("STORAGE LOG: BAŞARILI! Resim silindi: " + filePath);
-                } else {
-                    System.out.println("STORAGE LOG: UYARI! Resim bulunamadı: " + filePath);
-                }
-            } else {
-                System.out.println("STORAGE LOG: UYARI! URL beklenen formatta değil, yol çıkarılamadı.");
-            }
-        } catch (Exception e) {
-            System.err.println("STORAGE LOG: HATA! Storage'dan resim silinirken hata: " + e.getMessage());
-        }
-    }
 }
\ No newline at end of file
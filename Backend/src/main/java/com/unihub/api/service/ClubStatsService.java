@@ -0,0 +1,118 @@
+package com.unihub.api.service;
+
+import com.unihub.api.model.MembershipStatus;
+import com.unihub.api.repository.ClubMemberRepository;
+import com.unihub.api.repository.ClubStatsRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+// Kulüp sayaçlarını (club_stats) yönetir. Çağrılar, değişikliği yapan işlemin transaction'ına katılır;
+// böylece üyelik geri alınırsa sayaç artışı da geri alınır. Her değişiklik ClubChangedEvent yayınlar.
+// Zamana bağlı alanlar (yaklaşan etkinlik sayısı, hareketlilik puanı) periyodik bakımda güncellenir.
+@Service
+public class ClubStatsService {
+
+    // Hareketlilik puanına eklenen ağırlıklar.
+    private static final double MEMBER_ACTIVITY = 1.0;
+    private static final double POST_ACTIVITY = 2.0;
+    private static final double EVENT_ACTIVITY = 3.0;
+
+    private final ClubStatsRepository clubStatsRepository;
+    private final ClubMemberRepository clubMemberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final double activityHalfLifeMs;
+    private long lastMaintenanceAt = System.currentTimeMillis();
+
+    public ClubStatsService(ClubStatsRepository clubStatsRepository, ClubMemberRepository clubMemberRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${unihub.clubs.activity-half-life-hours:168}") long activityHalfLifeHours) {
+        this.clubStatsRepository = clubStatsRepository;
+        this.clubMemberRepository = clubMemberRepository;
+        this.eventPublisher = eventPublisher;
+        this.activityHalfLifeMs = activityHalfLifeHours * 3_600_000.0;
+    }
+
+    @Transactional
+    public void onMemberApproved(Long clubId) {
+        adjust(clubId, 1, 0, 0, 0, MEMBER_ACTIVITY);
+    }
+
+    @Transactional
+    public void onMemberLeft(Long clubId) {
+        adjust(clubId, -1, 0, 0, 0, 0);
+    }
+
+    @Transactional
+    public void onEventCreated(Long clubId, LocalDateTime eventDate) {
+        adjust(clubId, 0, 1, isUpcoming(eventDate) ? 1 : 0, 0, EVENT_ACTIVITY);
+    }
+
+    @Transactional
+    public void onEventRescheduled(Long clubId, LocalDateTime oldEventDate, LocalDateTime newEventDate) {
+        int upcomingDelta = (isUpcoming(newEventDate) ? 1 : 0) - (isUpcoming(oldEventDate) ? 1 : 0);
+        if (upcomingDelta != 0) {
+            adjust(clubId, 0, 0, upcomingDelta, 0, 0);
+        }
+    }
+
+    @Transactional
+    public void onEventDeleted(Long clubId, LocalDateTime eventDate) {
+        adjust(clubId, 0, -1, isUpcoming(eventDate) ? -1 : 0, 0, 0);
+    }
+
+    @Transactional
+    public void onPostCreated(Long clubId) {
+        adjust(clubId, 0, 0, 0, 1, POST_ACTIVITY);
+    }
+
+    @Transactional
+    public void onPostDeleted(Long clubId) {
+        adjust(clubId, 0, 0, 0, -1, 0);
+    }
+
+    @Transactional
+    public void onClubDeleted(Long clubId) {
+        clubStatsRepository.deleteByClubId(clubId);
+        eventPublisher.publishEvent(new ClubChangedEvent(clubId));
+    }
+
+    // Üyelikler kullanıcıyla birlikte cascade ile silindiği için, silmeden önce çağrılmalıdır.
+    @Transactional
+    public void onUserDeleted(Long userId) {
+        clubStatsRepository.decrementMemberCountsForUser(userId);
+        clubMemberRepository.findClubIdsByUserIdAndStatus(userId, MembershipStatus.APPROVED)
+                .forEach(clubId -> eventPublisher.publishEvent(new ClubChangedEvent(clubId)));
+    }
+
+    // Periyodik bakım: eksik satırları oluşturur, tarihi geçen etkinlikleri yaklaşan sayısından düşer
+    // ve hareketlilik puanlarını geçen süreye göre yarı ömürle azaltır. Hepsi tüm tabloyu sıralamayan
+    // tek UPDATE/INSERT sorgularıdır; istek yolunda hiçbir sayma yapılmaz.
+    @Scheduled(fixedDelayString = "${unihub.clubs.stats-refresh-interval-ms:300000}")
+    @Transactional
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        clubStatsRepository.insertMissing(now);
+        clubStatsRepository.refreshUpcomingEventCounts(now);
+
+        long currentTime = System.currentTimeMillis();
+        long elapsedMs = currentTime - lastMaintenanceAt;
+        lastMaintenanceAt = currentTime;
+        if (elapsedMs > 0) {
+            clubStatsRepository.decayActivityScores(Math.pow(0.5, elapsedMs / activityHalfLifeMs));
+        }
+    }
+
+    private void adjust(Long clubId, int members, int events, int upcomingEvents, int posts, double activity) {
+        clubStatsRepository.adjust(clubId, members, events, upcomingEvents, posts, activity);
+        eventPublisher.publishEvent(new ClubChangedEvent(clubId));
+    }
+
+    private boolean isUpcoming(LocalDateTime eventDate) {
+        return eventDate != null && eventDate.isAfter(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,75 @@
+package com.unihub.api.service;
+
+import com.unihub.api.filter.AuthenticatedUser;
+import com.unihub.api.model.User;
+import com.unihub.api.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Firebase uid'sini kullanıcı id'sine çevirir. Kimliği doğrulanmış isteklerde id, FirebaseTokenFilter
+// tarafından bir kez çözülüp principal'a konur; servisler her seferinde findByFirebaseUid çalıştırmaz.
+// Principal dışındaki çağrılar için küçük bir uid -> id önbelleği tutulur.
+@Service
+public class CurrentUserService {
+
+    private final UserRepository userRepository;
+    private final int maxCachedUsers;
+    private final Map<String, Long> userIdsByUid = new ConcurrentHashMap<>();
+
+    public CurrentUserService(UserRepository userRepository,
+                              @Value("${unihub.auth.user-id-cache-size:10000}") int maxCachedUsers) {
+        this.userRepository = userRepository;
+        this.maxCachedUsers = maxCachedUsers;
+    }
+
+    public Optional<Long> findUserId(String firebaseUid) {
+        Long principalUserId = principalUserId(firebaseUid);
+        if (principalUserId != null) {
+            return Optional.of(principalUserId);
+        }
+        Long cached = userIdsByUid.get(firebaseUid);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Long> userId = userRepository.findIdByFirebaseUid(firebaseUid);
+        userId.ifPresent(id -> {
+            // Sınır aşılırsa önbellek sıfırlanır; kayıtlar ilk istekte tekrar dolar.
+            if (userIdsByUid.size() >= maxCachedUsers) {
+                userIdsByUid.clear();
+            }
+            userIdsByUid.put(firebaseUid, id);
+        });
+        return userId;
+    }
+
+    public Long requireUserId(String firebaseUid) {
+        return findUserId(firebaseUid)
+                .orElseThrow(() -> new RuntimeException("User not found."));
+    }
+
+    // Kullanıcı satırı okunmadan bir referans (proxy) döndürür. Sadece id gerekiyorsa
+    // veritabanına hiç gidilmez; diğer alanlara erişildiğinde satır id ile yüklenir.
+    public User requireUser(String firebaseUid) {
+        return userRepository.getReferenceById(requireUserId(firebaseUid));
+    }
+
+    // Kullanıcı silindiğinde çağrılır; aynı uid ile yeniden kayıt olunursa yeni id kullanılır.
+    public void evict(String firebaseUid) {
+        userIdsByUid.remove(firebaseUid);
+    }
+
+    private Long principalUserId(String firebaseUid) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                && user.userId() != null && user.firebaseUid().equals(firebaseUid)) {
+            return user.userId();
+        }
+        return null;
+    }
+}
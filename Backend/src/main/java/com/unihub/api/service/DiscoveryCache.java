@@ -0,0 +1,175 @@
+package com.unihub.api.service;
+
+import com.unihub.api.controller.responses.ClubSummaryResponse;
+import com.unihub.api.model.Club;
+import com.unihub.api.repository.ClubRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Keşfet sonuçlarının (university, faculty, department) anahtarına göre önbelleği.
+// Kayıtlar unihub.clubs.discovery-cache-ttl-seconds kadar geçerlidir; bir kulübün sayaçları değiştiğinde
+// o kulübü içerebilecek anahtarlar commit sonrasında silinir.
+// Aynı anahtar için eşzamanlı istekler tek bir hesaplamayı bekler (single-flight): süresi dolmuş
+// popüler bir anahtar yük altında veritabanına bir kez gider.
+@Component
+public class DiscoveryCache implements MetricSource {
+
+    private final ClubRepository clubRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<DiscoveryKey, CacheEntry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public DiscoveryCache(ClubRepository clubRepository,
+                          @Value("${unihub.clubs.discovery-cache-ttl-seconds:60}") long ttlSeconds,
+                          @Value("${unihub.clubs.discovery-cache-size:1000}") int maxEntries) {
+        this.clubRepository = clubRepository;
+        this.ttlMs = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public Map<String, List<ClubSummaryResponse>> get(String university, String faculty, String department,
+                                                      Supplier<Map<String, List<ClubSummaryResponse>>> loader) {
+        DiscoveryKey key = new DiscoveryKey(university, faculty, department);
+        while (true) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && !entry.isExpired(System.currentTimeMillis())) {
+                if (entry.result.isDone()) {
+                    hits.increment();
+                } else {
+                    coalesced.increment();
+                }
+                return await(entry);
+            }
+
+            CacheEntry loading = new CacheEntry();
+            boolean installed = entry == null
+                    ? entries.putIfAbsent(key, loading) == null
+                    : entries.replace(key, entry, loading);
+            if (!installed) {
+                // Başka bir istek aynı anda hesaplamayı başlattı; onun sonucunu bekle.
+                continue;
+            }
+            misses.increment();
+            evictIfFull();
+            try {
+                Map<String, List<ClubSummaryResponse>> result = loader.get();
+                loading.expiresAt = System.currentTimeMillis() + ttlMs;
+                loading.result.complete(result);
+                return result;
+            } catch (RuntimeException e) {
+                entries.remove(key, loading);
+                loading.result.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    // Değişiklik commit olduktan sonra kulübün filtre değerleriyle eşleşebilecek anahtarlar silinir.
+    // Kulüp başka bir üniversite/fakülte/bölüme taşındıysa eski değerlerle eşleşen anahtarlar da silinir.
+    // Hesaplaması sürmekte olan kayıtlar da silinir; böylece commit öncesi veriyle hesaplanan sonuç saklanmaz.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onClubChanged(ClubChangedEvent event) {
+        Optional<Club> club = clubRepository.findById(event.clubId());
+        if (club.isEmpty()) {
+            // Kulüp silinmiş; hangi anahtarlarda yer aldığı bilinmediği için hepsi silinir.
+            invalidateAll();
+            return;
+        }
+        ClubChangedEvent.Filters current = ClubChangedEvent.Filters.of(club.get());
+        invalidate(current.university(), current.faculty(), current.department());
+        ClubChangedEvent.Filters previous = event.previousFilters();
+        if (previous != null && !previous.equals(current)) {
+            invalidate(previous.university(), previous.faculty(), previous.department());
+        }
+    }
+
+    public void invalidate(String university, String faculty, String department) {
+        entries.keySet().removeIf(key -> {
+            boolean matches = key.matches(university, faculty, department);
+            if (matches) {
+                invalidations.increment();
+            }
+            return matches;
+        });
+    }
+
+    public void invalidateAll() {
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+
+    private void evictIfFull() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        if (entries.size() > maxEntries) {
+            entries.clear();
+        }
+    }
+
+    private Map<String, List<ClubSummaryResponse>> await(CacheEntry entry) {
+        try {
+            return entry.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public String getMetricName() {
+        return "discoveryCache";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("size", entries.size());
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        metrics.put("coalesced", coalesced.sum());
+        metrics.put("invalidations", invalidations.sum());
+        return metrics;
+    }
+
+    // Filtre değeri null olan anahtar "hepsi" anlamına gelir ve her kulüple eşleşir.
+    private record DiscoveryKey(String university, String faculty, String department) {
+        boolean matches(String clubUniversity, String clubFaculty, String clubDepartment) {
+            return (university == null || Objects.equals(university, clubUniversity))
+                    && (faculty == null || Objects.equals(faculty, clubFaculty))
+                    && (department == null || Objects.equals(department, clubDepartment));
+        }
+    }
+
+    private static final class CacheEntry {
+        final CompletableFuture<Map<String, List<ClubSummaryResponse>>> result = new CompletableFuture<>();
+        // Hesaplama sürerken süresiz; tamamlanınca TTL başlar.
+        volatile long expiresAt = Long.MAX_VALUE;
+
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
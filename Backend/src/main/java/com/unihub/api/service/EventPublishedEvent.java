@@ -0,0 +1,5 @@
+package com.unihub.api.service;
+
+// Yeni etkinlik oluşturulduğunda yayınlanır. Bildirimler transaction commit olduktan sonra gönderilir.
+public record EventPublishedEvent(Long eventId, Long clubId, String clubName, String description) {
+}
@@ -0,0 +1,121 @@
+package com.unihub.api.service;
+
+import com.unihub.api.repository.EventAttendeeRepository;
+import com.unihub.api.repository.EventFormAnswerRepository;
+import com.unihub.api.repository.EventRepository;
+import com.unihub.api.repository.EventWaitlistRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Etkinlik koltuklarını eşzamanlı isteklere karşı güvenli şekilde dağıtır.
+// Koltuk, events.attendee_count üzerinde koşullu bir UPDATE ile ayrılır (kontenjan doluysa 0 satır);
+// ardından katılım satırı INSERT ... ON CONFLICT ile yazılır, böylece aynı kullanıcı için çift kayıt oluşmaz.
+// Kontenjan doluysa kullanıcı bekleme listesine eklenir; yer açıldığında listedeki en eski kayıt
+// aynı transaction içinde (bekleme sırasında verdiği form cevaplarıyla birlikte) katılımcıya dönüştürülür. Tüm adımlar etkinlik satırının kilidi altında
+// yapıldığı için sayaç, katılım satırları ve bekleme listesi birbiriyle tutarlı kalır.
+@Component
+public class EventSeatAllocator {
+
+    public enum Status { ATTENDING, ALREADY_ATTENDING, WAITLISTED }
+
+    // attendeeId sadece ATTENDING/ALREADY_ATTENDING için, waitlistPosition sadece WAITLISTED için doludur.
+    public record Allocation(Status status, Long attendeeId, int waitlistPosition) {
+        public boolean seated() {
+            return status != Status.WAITLISTED;
+        }
+    }
+
+    private final EventRepository eventRepository;
+    private final EventAttendeeRepository eventAttendeeRepository;
+    private final EventFormAnswerRepository eventFormAnswerRepository;
+    private final EventWaitlistRepository eventWaitlistRepository;
+
+    public EventSeatAllocator(EventRepository eventRepository, EventAttendeeRepository eventAttendeeRepository,
+                              EventFormAnswerRepository eventFormAnswerRepository,
+                              EventWaitlistRepository eventWaitlistRepository) {
+        this.eventRepository = eventRepository;
+        this.eventAttendeeRepository = eventAttendeeRepository;
+        this.eventFormAnswerRepository = eventFormAnswerRepository;
+        this.eventWaitlistRepository = eventWaitlistRepository;
+    }
+
+    // Kullanıcıya koltuk ayırır ya da onu bekleme listesine ekler. Tekrar çağrılması güvenlidir.
+    @Transactional
+    public Allocation allocate(Long eventId, Long userId) {
+        // Zaten katılan kullanıcının tekrar tıklaması etkinlik satırını kilitlemeden cevaplanır.
+        Optional<Long> existing = eventAttendeeRepository.findIdByUserIdAndEventId(userId, eventId);
+        if (existing.isPresent()) {
+            return new Allocation(Status.ALREADY_ATTENDING, existing.get(), 0);
+        }
+
+        if (eventRepository.reserveSeat(eventId) == 0) {
+            // Kontenjan dolu görünüyor. Satır kilitlenip tekrar denenir: bu arada yer açılmış olabilir.
+            eventRepository.lockById(eventId)
+                    .orElseThrow(() -> new RuntimeException("Event not found."));
+            // Aynı kullanıcının eşzamanlı diğer isteği kilidi bırakmadan önce koltuğu almış olabilir.
+            existing = eventAttendeeRepository.findIdByUserIdAndEventId(userId, eventId);
+            if (existing.isPresent()) {
+                return new Allocation(Status.ALREADY_ATTENDING, existing.get(), 0);
+            }
+            if (eventRepository.reserveSeat(eventId) == 0) {
+                eventWaitlistRepository.enqueue(eventId, userId, LocalDateTime.now());
+                return new Allocation(Status.WAITLISTED, null, eventWaitlistRepository.findPosition(eventId, userId));
+            }
+        }
+        return seat(eventId, userId);
+    }
+
+    // Kullanıcının katılımını (cevaplarıyla birlikte) ya da bekleme listesi kaydını siler.
+    // Bir koltuk boşaldıysa sıradaki kişi alınır. Kullanıcı ne katılımcı ne de listede ise false döner.
+    @Transactional
+    public boolean release(Long eventId, Long userId) {
+        Optional<Long> attendeeId = eventAttendeeRepository.findIdByUserIdAndEventId(userId, eventId);
+        if (attendeeId.isEmpty()) {
+            return eventWaitlistRepository.deleteByEventIdAndUserId(eventId, userId) > 0;
+        }
+        eventFormAnswerRepository.deleteByAttendeeId(attendeeId.get());
+        if (eventAttendeeRepository.deleteAttendeeById(attendeeId.get()) == 0) {
+            // Aynı katılım başka bir istekle silinmiş; sayaç o istekte düşüldü.
+            return false;
+        }
+        eventRepository.adjustAttendeeCount(eventId, -1);
+        promoteWaitlisted(eventId);
+        return true;
+    }
+
+    // Boş koltuk kaldıkça bekleme listesinden sırayla kişi alır (örn. kontenjan artırıldığında).
+    // Alınan kişi sayısını döndürür.
+    @Transactional
+    public int promoteWaitlisted(Long eventId) {
+        int promoted = 0;
+        while (eventRepository.reserveSeat(eventId) > 0) {
+            Optional<Long> next = eventWaitlistRepository.findNextUserIdForUpdate(eventId);
+            if (next.isEmpty()) {
+                eventRepository.adjustAttendeeCount(eventId, -1);
+                break;
+            }
+            if (seat(eventId, next.get()).status() == Status.ATTENDING) {
+                promoted++;
+            }
+        }
+        return promoted;
+    }
+
+    // Koltuk ayrılmış durumdayken katılım satırını yazar; satır zaten varsa ayrılan koltuğu geri verir.
+    // Kullanıcı bekleme listesinden geliyorsa liste kaydındaki form cevapları katılıma taşınır ve kayıt silinir.
+    private Allocation seat(Long eventId, Long userId) {
+        Optional<Long> attendeeId = eventAttendeeRepository.insertIfAbsent(userId, eventId, LocalDateTime.now());
+        if (attendeeId.isEmpty()) {
+            eventRepository.adjustAttendeeCount(eventId, -1);
+            eventWaitlistRepository.deleteByEventIdAndUserId(eventId, userId);
+            return new Allocation(Status.ALREADY_ATTENDING,
+                    eventAttendeeRepository.findIdByUserIdAndEventId(userId, eventId).orElse(null), 0);
+        }
+        eventFormAnswerRepository.copyWaitlistAnswers(attendeeId.get(), eventId, userId);
+        eventWaitlistRepository.deleteByEventIdAndUserId(eventId, userId);
+        return new Allocation(Status.ATTENDING, attendeeId.get(), 0);
+    }
+}
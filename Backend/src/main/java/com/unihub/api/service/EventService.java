@@ -7,13 +7,23 @@ import com.unihub.api.controller.responses.*;
 import com.unihub.api.model.*;
 import com.unihub.api.repository.*;
 import com.unihub.api.model.EventFormQuestion;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,75 +32,154 @@ public class EventService {
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
     private final ClubRepository clubRepository;
-    private final ClubMemberRepository clubMemberRepository;
     private final EventAttendeeRepository eventAttendeeRepository;
     private final EventFormQuestionRepository eventFormQuestionRepository;
     private final EventFormAnswerRepository eventFormAnswerRepository;
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CurrentUserService currentUserService;
+    private final ClubStatsService clubStatsService;
+    private final MembershipCache membershipCache;
+    private final EventSeatAllocator seatAllocator;
+    private final EventWaitlistRepository eventWaitlistRepository;
+    private final EventSubmissionExporter submissionExporter;
+    private final JdbcTemplate jdbcTemplate;
 
     private final LogService  logService;
+    private final int attendeePageSize;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_ANSWER_LENGTH = 1024;
+    private static final String INSERT_ANSWER_SQL =
+            "INSERT INTO event_form_answers (attendee_id, question_id, answer_text) VALUES (?, ?, ?)";
+    private static final String INSERT_WAITLIST_ANSWER_SQL =
+            "INSERT INTO event_waitlist_answers (waitlist_id, question_id, answer_text) VALUES (?, ?, ?)";
 
     public EventService(EventRepository eventRepository, UserRepository userRepository,
-                        ClubRepository clubRepository, ClubMemberRepository clubMemberRepository,
+                        ClubRepository clubRepository,
                         EventAttendeeRepository eventAttendeeRepository,  LogService logService,
                         EventFormQuestionRepository eventFormQuestionRepository, EventFormAnswerRepository eventFormAnswerRepository,
-                        NotificationService notificationService) {
+                        ApplicationEventPublisher eventPublisher, CurrentUserService currentUserService,
+                        ClubStatsService clubStatsService, MembershipCache membershipCache,
+                        EventSeatAllocator seatAllocator, EventWaitlistRepository eventWaitlistRepository,
+                        EventSubmissionExporter submissionExporter, JdbcTemplate jdbcTemplate,
+                        @Value("${unihub.events.attendee-page-size:20}") int attendeePageSize) {
         this.eventRepository = eventRepository;
         this.userRepository = userRepository;
         this.clubRepository = clubRepository;
-        this.clubMemberRepository = clubMemberRepository;
         this.eventAttendeeRepository = eventAttendeeRepository;
         this.logService = logService;
         this.eventFormQuestionRepository = eventFormQuestionRepository;
         this.eventFormAnswerRepository = eventFormAnswerRepository;
-        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.currentUserService = currentUserService;
+        this.clubStatsService = clubStatsService;
+        this.membershipCache = membershipCache;
+        this.seatAllocator = seatAllocator;
+        this.eventWaitlistRepository = eventWaitlistRepository;
+        this.submissionExporter = submissionExporter;
+        this.jdbcTemplate = jdbcTemplate;
+        this.attendeePageSize = attendeePageSize;
 
     }
+    // Kontenjan doluysa kullanıcı bekleme listesine alınır ve cevapları liste kaydıyla birlikte saklanır;
+    // listeden alındığında EventSeatAllocator bu cevapları katılım satırına taşır.
     @Transactional
-    public void submitEventForm(Long eventId, String firebaseUid, EventFormSubmissionRequest submissionRequest) {
-        User user = userRepository.findByFirebaseUid(firebaseUid).orElseThrow(() -> new RuntimeException("User not found."));
-        Event event = eventRepository.findById(eventId).orElseThrow(() -> new RuntimeException("Event not found."));
-
-        // Önce katılım kaydını oluştur
-        EventAttendee attendee = new EventAttendee(user, event);
-
-        // Gelen cevapları işle ve katılım kaydına bağla
-        List<EventFormAnswer> answers = submissionRequest.getAnswers().stream().map(answerReq -> {
-            EventFormQuestion question = eventFormQuestionRepository.findById(answerReq.getQuestionId())
-                    .orElseThrow(() -> new RuntimeException("Question not found."));
-
-            EventFormAnswer answer = new EventFormAnswer();
-            answer.setAnswerText(answerReq.getAnswerText());
-            answer.setQuestion(question);
-            answer.setAttendee(attendee);
-            return answer;
-        }).collect(Collectors.toList());
+    public EventAttendanceResponse submitEventForm(Long eventId, String firebaseUid, EventFormSubmissionRequest submissionRequest) {
+        Long userId = currentUserService.requireUserId(firebaseUid);
+        if (!eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Event not found.");
+        }
+
+        // Etkinliğin soruları tek sorguda okunur; cevaplar koltuk ayrılmadan önce bellekte doğrulanır.
+        Map<Long, EventFormQuestion> questions = eventFormQuestionRepository.findByEventIdOrderById(eventId).stream()
+                .collect(Collectors.toMap(EventFormQuestion::getId, question -> question));
+        List<EventFormSubmissionRequest.AnswerRequest> answers = submissionRequest.getAnswers() == null
+                ? List.of() : submissionRequest.getAnswers();
+        Set<Long> answered = new HashSet<>();
+        for (EventFormSubmissionRequest.AnswerRequest answerReq : answers) {
+            if (answerReq.getQuestionId() == null || !questions.containsKey(answerReq.getQuestionId())) {
+                throw new IllegalArgumentException("Soru bu etkinliğin formuna ait değil: " + answerReq.getQuestionId());
+            }
+            if (!answered.add(answerReq.getQuestionId())) {
+                throw new IllegalArgumentException("Aynı soru birden fazla kez cevaplanamaz.");
+            }
+            if (answerReq.getAnswerText() == null) {
+                throw new IllegalArgumentException("Cevap boş olamaz.");
+            }
+            if (answerReq.getAnswerText().length() > MAX_ANSWER_LENGTH) {
+                throw new IllegalArgumentException("Cevap en fazla " + MAX_ANSWER_LENGTH + " karakter olabilir.");
+            }
+        }
 
-        attendee.setAnswers(answers);
-        eventAttendeeRepository.save(attendee);
+        // Önce koltuk ayrılır; cevaplar katılım satırına ya da bekleme listesi kaydına yazılır.
+        // allocate bekleme listesine alırken etkinlik satırını kilitler; kilit bu transaction bitene kadar
+        // sürdüğü için kullanıcı, cevapları yazılmadan listeden alınamaz.
+        EventSeatAllocator.Allocation allocation = seatAllocator.allocate(eventId, userId);
+        if (!allocation.seated()) {
+            Long waitlistId = eventWaitlistRepository.findIdByEventIdAndUserId(eventId, userId)
+                    .orElseThrow(() -> new IllegalStateException("Waitlist entry not found."));
+            // Formu tekrar gönderen kullanıcının önceki cevapları yenileriyle değiştirilir.
+            eventWaitlistRepository.deletePendingAnswers(waitlistId);
+            insertAnswers(INSERT_WAITLIST_ANSWER_SQL, waitlistId, answers);
+            return toAttendanceResponse(allocation);
+        }
+        if (allocation.status() == EventSeatAllocator.Status.ALREADY_ATTENDING) {
+            // Formu tekrar gönderen katılımcının önceki cevapları yenileriyle değiştirilir.
+            eventFormAnswerRepository.deleteByAttendeeId(allocation.attendeeId());
+        }
+        insertAnswers(INSERT_ANSWER_SQL, allocation.attendeeId(), answers);
+        return toAttendanceResponse(allocation);
+    }
+
+    // IDENTITY id'ler Hibernate'in INSERT batch'lemesini kapattığı için cevaplar JDBC batch'i ile yazılır.
+    private void insertAnswers(String sql, Long ownerId, List<EventFormSubmissionRequest.AnswerRequest> answers) {
+        if (answers.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(sql, answers, answers.size(), (statement, answerReq) -> {
+            statement.setLong(1, ownerId);
+            statement.setLong(2, answerReq.getQuestionId());
+            statement.setString(3, answerReq.getAnswerText());
+        });
     }
 
+    @Transactional(readOnly = true)
     public List<EventSubmissionResponse> getEventSubmissions(Long eventId, String adminFirebaseUid) {
-        Event event = eventRepository.findById(eventId).orElseThrow(() -> new RuntimeException("Event not found."));
-        findMembership(adminFirebaseUid, event.getClub().getId(), Role.OWNER, Role.MANAGER);
+        List<EventFormQuestion> questions = requireSubmissionAccess(eventId, adminFirebaseUid);
 
-        return event.getFormQuestions().stream().map(question -> {
+        // Her soru için bir grup açılır (cevapsız sorular da listelenir); cevaplar soru sırasıyla
+        // tek sorguda gelir ve tek geçişte ilgili gruba eklenir.
+        Map<Long, EventSubmissionResponse> byQuestion = new LinkedHashMap<>();
+        for (EventFormQuestion question : questions) {
             EventSubmissionResponse submissionResponse = new EventSubmissionResponse();
             submissionResponse.setQuestionText(question.getQuestionText());
+            submissionResponse.setUserAnswers(new ArrayList<>());
+            byQuestion.put(question.getId(), submissionResponse);
+        }
+        for (EventSubmissionView view : eventFormAnswerRepository.findSubmissionsByEventIdOrderByQuestion(eventId)) {
+            EventSubmissionResponse submissionResponse = byQuestion.get(view.getQuestionId());
+            if (submissionResponse == null) {
+                continue;
+            }
+            EventSubmissionResponse.UserAnswer userAnswer = new EventSubmissionResponse.UserAnswer();
+            userAnswer.setUserName(view.getName());
+            userAnswer.setAnswerText(view.getAnswerText());
+            submissionResponse.getUserAnswers().add(userAnswer);
+        }
+        return new ArrayList<>(byQuestion.values());
+    }
 
-            List<EventSubmissionResponse.UserAnswer> userAnswers = event.getAttendees().stream()
-                    .flatMap(attendee -> attendee.getAnswers().stream())
-                    .filter(answer -> answer.getQuestion().getId().equals(question.getId()))
-                    .map(answer -> {
-                        EventSubmissionResponse.UserAnswer userAnswer = new EventSubmissionResponse.UserAnswer();
-                        userAnswer.setUserName(answer.getAttendee().getUser().getName());
-                        userAnswer.setAnswerText(answer.getAnswerText());
-                        return userAnswer;
-                    }).collect(Collectors.toList());
-
-            submissionResponse.setUserAnswers(userAnswers);
-            return submissionResponse;
-        }).collect(Collectors.toList());
+    // Yetki kontrolü istek sırasında yapılır; dönen gövde yanıt yazılırken cevapları veritabanından akıtır.
+    public StreamingResponseBody exportEventSubmissions(Long eventId, String adminFirebaseUid) {
+        List<EventFormQuestion> questions = requireSubmissionAccess(eventId, adminFirebaseUid);
+        return out -> submissionExporter.write(eventId, questions, out);
+    }
+
+    private List<EventFormQuestion> requireSubmissionAccess(Long eventId, String adminFirebaseUid) {
+        Long clubId = eventRepository.findClubIdById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found."));
+        membershipCache.require(adminFirebaseUid, clubId, Role.OWNER, Role.MANAGER);
+        return eventFormQuestionRepository.findByEventIdOrderById(eventId);
     }
 
     @Transactional(readOnly = true)
@@ -101,21 +190,28 @@ public class EventService {
     }
 
     public EventDetailResponse getEventById(Long eventId, String firebaseUid) {
-        User currentUser = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        User currentUser = currentUserService.requireUser(firebaseUid);
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found with id: " + eventId));
 
         return mapEventToDetailDto(event, currentUser);
     }
 
+    // Katılımcı listesi sadece kulüp yöneticilerine açıktır; büyük etkinlikler sayfa sayfa okunur.
+    @Transactional(readOnly = true)
+    public List<EventAttendeeResponse> getEventAttendees(Long eventId, String adminFirebaseUid, int page, int size) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found."));
+        membershipCache.require(adminFirebaseUid, event.getClub().getId(), Role.OWNER, Role.MANAGER);
+        return loadAttendees(eventId, PageRequest.of(page, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
     @Transactional
     public EventDetailResponse createEventForClub(Long clubId, EventCreationRequest request, String creatorFirebaseUid) {
-        User creator = userRepository.findByFirebaseUid(creatorFirebaseUid)
-                .orElseThrow(() -> new RuntimeException("Creator user not found."));
+        User creator = currentUserService.requireUser(creatorFirebaseUid);
 
-        clubMemberRepository.findByClubIdAndUserId(clubId, creator.getId())
-                .filter(member -> member.getRole() == Role.MANAGER || member.getRole() == Role.OWNER)
+        membershipCache.find(creator.getId(), clubId)
+                .filter(member -> member.role() == Role.MANAGER || member.role() == Role.OWNER)
                 .orElseThrow(() -> new SecurityException("User is not authorized to create events for this club."));
 
 
@@ -128,6 +224,7 @@ public class EventService {
         newEvent.setClub(club);
         newEvent.setPictureURL(request.getPictureUrl());
         newEvent.setLocation(request.getLocation());
+        newEvent.setCapacity(validCapacity(request.getCapacity()));
 
 
         if (request.getQuestions() != null && !request.getQuestions().isEmpty()) {
@@ -136,10 +233,12 @@ public class EventService {
                     .collect(Collectors.toList());
             newEvent.setFormQuestions(questions);
         }
-        club.getEvents().add(newEvent);
+        // club.getEvents() koleksiyonuna eklenmez; bu, kulübün tüm etkinliklerini belleğe yüklerdi.
         Event savedEvent = eventRepository.save(newEvent);
+        clubStatsService.onEventCreated(club.getId(), savedEvent.getEventDate());
 
-        new Thread(() -> notificationService.sendNewEventNotification(savedEvent)).start();
+        // Bildirimler NotificationService tarafından commit sonrasında gönderilir.
+        eventPublisher.publishEvent(new EventPublishedEvent(savedEvent.getId(), club.getId(), club.getName(), savedEvent.getDescription()));
 
         String action = String.format("'%s...' ile başlayan yeni bir etkinlik oluşturdu.", request.description.substring(0, Math.min(request.description.length(), 20)));
         logService.logClubAction(clubId, creatorFirebaseUid, action);
@@ -149,19 +248,18 @@ public class EventService {
 
     @Transactional
     public void deleteEvent(Long eventId, String firebaseUid) {
-        User currentUser = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        User currentUser = currentUserService.requireUser(firebaseUid);
 
         Event eventToDelete = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found."));
 
         // Yetki Kontrolü: Kullanıcı ya etkinliği oluşturan kişi olmalı
         // ya da kulübün OWNER veya MANAGER'ı olmalı.
-        ClubMember membership = clubMemberRepository.findByClubIdAndUserId(eventToDelete.getClub().getId(), currentUser.getId())
+        MembershipCache.Membership membership = membershipCache.find(currentUser.getId(), eventToDelete.getClub().getId())
                 .orElse(null);
 
         boolean isCreator = eventToDelete.getCreator().getId().equals(currentUser.getId());
-        boolean isClubManagerOrOwner = membership != null && (membership.getRole() == Role.OWNER || membership.getRole() == Role.MANAGER);
+        boolean isClubManagerOrOwner = membership != null && (membership.role() == Role.OWNER || membership.role() == Role.MANAGER);
 
         if (!isCreator && !isClubManagerOrOwner) {
             throw new SecurityException("User is not authorized to delete this event.");
@@ -171,54 +269,75 @@ public class EventService {
         String action = String.format("'%s' adlı etkinliği sildi.", eventToDelete.getDescription().substring(0, Math.min(eventToDelete.getDescription().length(), 20)));
         logService.logClubAction(eventToDelete.getClub().getId(), firebaseUid, action);
 
-        eventRepository.delete(eventToDelete);
+        // Cevaplar, katılımlar ve sorular entity'ler yüklenmeden toplu silinir.
+        eventFormAnswerRepository.deleteByEventId(eventId);
+        eventAttendeeRepository.deleteByEventId(eventId);
+        eventWaitlistRepository.deleteByEventId(eventId);
+        eventFormQuestionRepository.deleteByEventId(eventId);
+        eventRepository.deleteEventById(eventId);
+        clubStatsService.onEventDeleted(eventToDelete.getClub().getId(), eventToDelete.getEventDate());
     }
 
+    // Koltuk EventSeatAllocator ile ayrılır; kontenjan doluysa kullanıcı bekleme listesine eklenir.
     @Transactional
-    public void attendEvent(Long eventId, String firebaseUid) {
-        User user = userRepository.findByFirebaseUid(firebaseUid).orElseThrow(() -> new RuntimeException("User not found."));
-        Event event = eventRepository.findById(eventId).orElseThrow(() -> new RuntimeException("Event not found."));
-
-        if (eventAttendeeRepository.existsByUserAndEvent(user, event)) {
-                return;
+    public EventAttendanceResponse attendEvent(Long eventId, String firebaseUid) {
+        Long userId = currentUserService.requireUserId(firebaseUid);
+        if (!eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Event not found.");
         }
 
-        EventAttendee attendance = new EventAttendee(user, event);
-        eventAttendeeRepository.save(attendance);
+        return toAttendanceResponse(seatAllocator.allocate(eventId, userId));
+    }
+
+    private EventAttendanceResponse toAttendanceResponse(EventSeatAllocator.Allocation allocation) {
+        EventAttendanceResponse response = new EventAttendanceResponse();
+        response.attending = allocation.seated();
+        response.waitlisted = !allocation.seated();
+        response.waitlistPosition = allocation.seated() ? null : allocation.waitlistPosition();
+        return response;
     }
 
     @Transactional
     public void leaveEvent(Long eventId, String firebaseUid) {
-        User user = userRepository.findByFirebaseUid(firebaseUid).orElseThrow(() -> new RuntimeException("User not found."));
-        Event event = eventRepository.findById(eventId).orElseThrow(() -> new RuntimeException("Event not found."));
-
-        EventAttendee attendance = eventAttendeeRepository.findByUserAndEvent(user, event)
-                .orElseThrow(() -> new IllegalStateException("User is not attending this event."));
+        Long userId = currentUserService.requireUserId(firebaseUid);
+        if (!eventRepository.existsById(eventId)) {
+            throw new RuntimeException("Event not found.");
+        }
 
-        eventAttendeeRepository.delete(attendance);
+        // Katılım ya da bekleme listesi kaydı silinir; boşalan koltuğa sıradaki kişi alınır.
+        if (!seatAllocator.release(eventId, userId)) {
+            throw new IllegalStateException("User is not attending this event.");
+        }
     }
 
     @Transactional
     public EventDetailResponse updateEvent(Long eventId, EventUpdateRequest request, String firebaseUid) {
-        User currentUser = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        User currentUser = currentUserService.requireUser(firebaseUid);
 
         Event eventToUpdate = eventRepository.findById(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found."));
 
         // Yetki Kontrolü
-        ClubMember membership = clubMemberRepository.findByClubIdAndUserId(eventToUpdate.getClub().getId(), currentUser.getId()).orElse(null);
-        boolean isClubManagerOrOwner = membership != null && (membership.getRole() == Role.OWNER || membership.getRole() == Role.MANAGER);
+        MembershipCache.Membership membership = membershipCache.find(currentUser.getId(), eventToUpdate.getClub().getId()).orElse(null);
+        boolean isClubManagerOrOwner = membership != null && (membership.role() == Role.OWNER || membership.role() == Role.MANAGER);
 
         if (!isClubManagerOrOwner) {
             throw new SecurityException("User is not authorized to edit this event.");
         }
 
+        clubStatsService.onEventRescheduled(eventToUpdate.getClub().getId(), eventToUpdate.getEventDate(), request.eventDate);
         eventToUpdate.setDescription(request.description);
         eventToUpdate.setEventDate(request.eventDate);
         eventToUpdate.setLocation(request.location);
-        Event updatedEvent = eventRepository.save(eventToUpdate);
+        eventToUpdate.setCapacity(validCapacity(request.capacity));
         eventToUpdate.setPictureURL(request.pictureUrl);
+        Event updatedEvent = eventRepository.saveAndFlush(eventToUpdate);
+        // Kontenjan artırıldıysa (ya da kaldırıldıysa) bekleme listesindekiler boş koltuklara alınır.
+        // Azaltıldıysa mevcut katılımcılar çıkarılmaz; yeni katılımlar sayı kontenjanın altına inene kadar beklemeye alınır.
+        if (seatAllocator.promoteWaitlisted(eventId) > 0) {
+            // Sayaç native UPDATE ile arttı; yüklenmiş entity'deki değer yanıt için tazelenir.
+            updatedEvent.setAttendeeCount(eventRepository.findAttendeeCountById(eventId));
+        }
         // Loglama
         logService.logClubAction(updatedEvent.getClub().getId(), firebaseUid, String.format("'%s' ID'li etkinliği güncelledi.", eventId));
 
@@ -245,27 +364,35 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Event not found."));
 
         // Yetki Kontrolü: İşlemi yapan kişinin kulüp yöneticisi olduğundan emin ol
-        findMembership(adminFirebaseUid, event.getClub().getId(), Role.OWNER, Role.MANAGER);
-
-        User userToRemove = userRepository.findById(userIdToRemove)
-                .orElseThrow(() -> new RuntimeException("Çıkarılacak kullanıcı bulunamadı."));
+        membershipCache.require(adminFirebaseUid, event.getClub().getId(), Role.OWNER, Role.MANAGER);
 
-        // Silinecek katılım kaydını bul
-        EventAttendee attendanceToRemove = eventAttendeeRepository.findByUserAndEvent(userToRemove, event)
-                .orElseThrow(() -> new IllegalStateException("Kullanıcı zaten bu etkinliğe katılmıyor."));
+        // userRepository.findById kullanıcının katılımlarını da (attendedEvents) yükler; katılım o koleksiyonda
+        // yönetilirken silinirse Hibernate silmeyi iptal eder. Bu yüzden sadece referans alınır.
+        if (!userRepository.existsById(userIdToRemove)) {
+            throw new RuntimeException("Çıkarılacak kullanıcı bulunamadı.");
+        }
+        if (!eventAttendeeRepository.existsByUserIdAndEventId(userIdToRemove, eventId)) {
+            throw new IllegalStateException("Kullanıcı zaten bu etkinliğe katılmıyor.");
+        }
 
         // Loglama (silmeden önce)
-        String adminName = userRepository.findByFirebaseUid(adminFirebaseUid).get().getName();
-        String removedUserName = userToRemove.getName();
+        String adminName = currentUserService.requireUser(adminFirebaseUid).getName();
+        String removedUserName = userRepository.getReferenceById(userIdToRemove).getName();
         String action = String.format("'%s', '%s' adlı kullanıcıyı '%s...' etkinliğinden çıkardı.",
                 adminName,
                 removedUserName,
                 event.getDescription().substring(0, Math.min(event.getDescription().length(), 20)));
         logService.logClubAction(event.getClub().getId(), adminFirebaseUid, action);
 
-        // Katılım kaydını sil. Cascade ayarları sayesinde, bu işlem
-        // bu katılımcının tüm form cevaplarını da otomatik olarak silecektir.
-        eventAttendeeRepository.delete(attendanceToRemove);
+        // Katılım kaydı form cevaplarıyla birlikte silinir; boşalan koltuğa bekleme listesinden sıradaki kişi alınır.
+        seatAllocator.release(eventId, userIdToRemove);
+    }
+
+    private Integer validCapacity(Integer capacity) {
+        if (capacity != null && capacity <= 0) {
+            throw new IllegalArgumentException("Kontenjan en az 1 olmalıdır.");
+        }
+        return capacity;
     }
 
     // DTO MAPPING HELPERS
@@ -302,26 +429,28 @@ public class EventService {
             dto.setCreator(mapUserToSummaryDto(event.getCreator()));
         }
 
-        ClubMember membership = clubMemberRepository.findByClubIdAndUserId(event.getClub().getId(), currentUser.getId()).orElse(null);
-        boolean canManage = membership != null && (membership.getRole() == Role.OWNER || membership.getRole() == Role.MANAGER);
+        MembershipCache.Membership membership = membershipCache.find(currentUser.getId(), event.getClub().getId()).orElse(null);
+        boolean canManage = membership != null && (membership.role() == Role.OWNER || membership.role() == Role.MANAGER);
         dto.setCanCurrentUserManage(canManage);
-        dto.setCurrentUserMemberOfClub(membership != null && membership.getStatus() == MembershipStatus.APPROVED);
-
-        if (event.getAttendees() != null) {
-            dto.setAttendeeCount(event.getAttendees().size());
-            dto.setCurrentUserAttending(event.getAttendees().stream()
-                    .anyMatch(attendee -> attendee.getUser().getId().equals(currentUser.getId())));
-
-            // Sadece yetkililer detaylı katılımcı listesini ve cevapları görür
-            dto.setAttendees(new ArrayList<>()); // Önce boş bir liste oluştur
-            if (canManage) {
-                dto.setAttendees(event.getAttendees().stream()
-                        .map(this::mapAttendeeToResponse)
-                        .collect(Collectors.toList()));
-            }
-        } else {
-            dto.setAttendeeCount(0);
-            dto.setCurrentUserAttending(false);
+        dto.setCurrentUserMemberOfClub(membership != null && membership.status() == MembershipStatus.APPROVED);
+
+        // Katılımcılar yüklenmez: sayı events satırındaki sayaçtan, kullanıcının katılımı tek satırlık
+        // bir varlık kontrolünden gelir.
+        dto.setAttendeeCount(event.getAttendeeCount());
+        dto.setCurrentUserAttending(event.getId() != null
+                && eventAttendeeRepository.existsByUserIdAndEventId(currentUser.getId(), event.getId()));
+        dto.setCapacity(event.getCapacity());
+        if (event.getCapacity() != null && event.getId() != null) {
+            dto.setWaitlistCount((int) eventWaitlistRepository.countByEventId(event.getId()));
+            int position = eventWaitlistRepository.findPosition(event.getId(), currentUser.getId());
+            dto.setCurrentUserWaitlistPosition(position > 0 ? position : null);
+        }
+
+        // Sadece yetkililer detaylı katılımcı listesini ve cevapları görür; detayda ilk sayfa döner,
+        // devamı /api/events/{eventId}/attendees üzerinden okunur.
+        dto.setAttendees(new ArrayList<>());
+        if (canManage && event.getAttendeeCount() > 0) {
+            dto.setAttendees(loadAttendees(event.getId(), PageRequest.of(0, attendeePageSize)));
         }
 
         if (event.getFormQuestions() != null) {
@@ -347,40 +476,35 @@ public class EventService {
         return dto;
     }
 
-    // HELPER METHODS
-    private ClubMember findMembership(String firebaseUid, Long clubId, Role... allowedRoles) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
-
-        ClubMember membership = clubMemberRepository.findByClubIdAndUserId(clubId, user.getId())
-                .orElseThrow(() -> new RuntimeException("User is not a member of this club."));
-
-        if (allowedRoles == null || allowedRoles.length == 0) {
-            return membership;
-        }
-
-        for (Role allowedRole : allowedRoles) {
-            if (membership.getRole() == allowedRole) {
-                return membership;
-            }
+    private List<EventAttendeeResponse> loadAttendees(Long eventId, Pageable pageable) {
+        List<EventAttendeeView> attendees = eventAttendeeRepository.findViewsByEventId(eventId, pageable);
+        if (attendees.isEmpty()) {
+            return new ArrayList<>();
         }
-
-        throw new SecurityException("User does not have the required role for this action.");
-    }
-    private EventAttendeeResponse mapAttendeeToResponse(EventAttendee attendee) {
-        EventAttendeeResponse response = new EventAttendeeResponse();
-        response.setUser(mapUserToSummaryDto(attendee.getUser()));
-        response.setJoinedAt(attendee.getJoinedAt());
-
-        if (attendee.getAnswers() != null) {
-            response.setFormAnswers(attendee.getAnswers().stream().map(answer -> {
-                AnswerResponse answerDto = new AnswerResponse();
-                answerDto.setQuestionText(answer.getQuestion().getQuestionText());
-                answerDto.setAnswerText(answer.getAnswerText());
-                return answerDto;
-            }).collect(Collectors.toList()));
-        }
-        return response;
+        // Sayfadaki katılımcıların form cevapları tek sorguda okunur.
+        Map<Long, List<AnswerResponse>> answersByAttendee = eventFormAnswerRepository
+                .findViewsByAttendeeIdIn(attendees.stream().map(EventAttendeeView::getAttendeeId).toList()).stream()
+                .collect(Collectors.groupingBy(AttendeeAnswerView::getAttendeeId, Collectors.mapping(answer -> {
+                    AnswerResponse answerDto = new AnswerResponse();
+                    answerDto.setQuestionText(answer.getQuestionText());
+                    answerDto.setAnswerText(answer.getAnswerText());
+                    return answerDto;
+                }, Collectors.toList())));
+
+        return attendees.stream().map(attendee -> {
+            UserSummaryResponse user = new UserSummaryResponse();
+            user.id = attendee.getUserId();
+            user.studentID = attendee.getStudentID();
+            user.name = attendee.getName();
+            user.surname = attendee.getSurname();
+            user.profilePictureUrl = attendee.getProfilePictureUrl();
+
+            EventAttendeeResponse response = new EventAttendeeResponse();
+            response.setUser(user);
+            response.setJoinedAt(attendee.getJoinedAt());
+            response.setFormAnswers(answersByAttendee.getOrDefault(attendee.getAttendeeId(), new ArrayList<>()));
+            return response;
+        }).collect(Collectors.toList());
     }
 
 
@@ -0,0 +1,118 @@
+package com.unihub.api.service;
+
+import com.unihub.api.model.EventFormQuestion;
+import com.unihub.api.repository.EventFormAnswerRepository;
+import com.unihub.api.repository.EventSubmissionView;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// Etkinlik form cevaplarını CSV olarak yazar: her katılımcı bir satır, her soru bir sütun.
+// Cevaplar katılımcı sırasına göre veritabanı imleciyle okunur ve katılımcı değiştikçe satır yazılır;
+// bellekte aynı anda sadece bir katılımcının cevapları tutulur.
+@Component
+public class EventSubmissionExporter {
+
+    private static final String[] FIXED_HEADERS = {"Öğrenci No", "Ad", "Soyad", "Katılım Tarihi"};
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final EventFormAnswerRepository eventFormAnswerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public EventSubmissionExporter(EventFormAnswerRepository eventFormAnswerRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.eventFormAnswerRepository = eventFormAnswerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    // Yetki kontrolü çağıran tarafta yapılmış olmalıdır; bu metot yanıt gövdesi yazılırken çalışır.
+    public void write(Long eventId, List<EventFormQuestion> questions, OutputStream out) throws IOException {
+        Map<Long, Integer> columns = new HashMap<>();
+        String[] header = Arrays.copyOf(FIXED_HEADERS, FIXED_HEADERS.length + questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            columns.put(questions.get(i).getId(), FIXED_HEADERS.length + i);
+            header[FIXED_HEADERS.length + i] = questions.get(i).getQuestionText();
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // BOM, Excel'in dosyayı UTF-8 olarak açması (Türkçe karakterler) içindir.
+        writer.write('\uFEFF');
+        writeRow(writer, header);
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<EventSubmissionView> rows =
+                             eventFormAnswerRepository.streamSubmissionsByEventIdOrderByAttendee(eventId)) {
+                    Long currentAttendee = null;
+                    String[] row = null;
+                    for (EventSubmissionView view : (Iterable<EventSubmissionView>) rows::iterator) {
+                        if (!view.getAttendeeId().equals(currentAttendee)) {
+                            if (row != null) {
+                                writeRow(writer, row);
+                            }
+                            currentAttendee = view.getAttendeeId();
+                            row = new String[header.length];
+                            row[0] = view.getStudentID() == null ? null : view.getStudentID().toString();
+                            row[1] = view.getName();
+                            row[2] = view.getSurname();
+                            row[3] = view.getJoinedAt() == null ? null : view.getJoinedAt().format(DATE_FORMAT);
+                        }
+                        Integer column = columns.get(view.getQuestionId());
+                        if (column != null) {
+                            // Aynı soruya birden fazla cevap varsa en son verilen geçerlidir.
+                            row[column] = view.getAnswerText();
+                        }
+                    }
+                    if (row != null) {
+                        writeRow(writer, row);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private static void writeRow(Writer writer, String[] cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(cells[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180 kaçışı. Formül gibi başlayan hücrelerin önüne ' eklenir; kullanıcıların girdiği cevaplar
+    // elektronik tabloda açıldığında formül olarak çalıştırılmasın.
+    private static String escape(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if ("=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,92 @@
+package com.unihub.api.service;
+
+import com.unihub.api.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// FCM'in geçersiz bildirdiği token'ları kullanıcılardan temizler.
+// Gönderim hattı token'ları sadece kuyruğa ekler; temizlik periyodik olarak toplu UPDATE ile yapılır,
+// böylece bildirim gönderimi veritabanı yazmasını beklemez.
+@Component
+public class FcmTokenPruner implements MetricSource {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    // Aynı token birden fazla grupta hata verebilir; küme sayesinde bir kez temizlenir.
+    private final Set<String> pendingTokens = ConcurrentHashMap.newKeySet();
+    private final LongAdder reportedTokens = new LongAdder();
+    private final LongAdder prunedUsers = new LongAdder();
+
+    public FcmTokenPruner(UserRepository userRepository, PlatformTransactionManager transactionManager,
+                          @Value("${unihub.notifications.prune-batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+    }
+
+    public void prune(Collection<String> tokens) {
+        for (String token : tokens) {
+            if (pendingTokens.add(token)) {
+                reportedTokens.increment();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${unihub.notifications.prune-interval-ms:5000}")
+    public synchronized void flush() {
+        while (!pendingTokens.isEmpty()) {
+            List<String> batch = new ArrayList<>(batchSize);
+            for (String token : pendingTokens) {
+                batch.add(token);
+                if (batch.size() == batchSize) {
+                    break;
+                }
+            }
+            try {
+                Integer cleared = transactionTemplate.execute(status -> userRepository.clearFcmTokens(batch));
+                prunedUsers.add(cleared == null ? 0 : cleared);
+            } catch (RuntimeException e) {
+                // Token'lar kümede kalır ve bir sonraki turda tekrar denenir.
+                System.err.println("Geçersiz FCM token'ları temizlenemedi: " + e.getMessage());
+                return;
+            }
+            batch.forEach(pendingTokens::remove);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    @Override
+    public String getMetricName() {
+        return "fcmTokenPruning";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("pending", pendingTokens.size());
+        metrics.put("reportedTokens", reportedTokens.sum());
+        metrics.put("prunedTokens", prunedUsers.sum());
+        return metrics;
+    }
+}
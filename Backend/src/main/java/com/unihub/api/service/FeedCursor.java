@@ -0,0 +1,65 @@
+package com.unihub.api.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Akış sayfalaması için opak imleç.
+// İstemci bu değeri yorumlamaz; bir sonraki sayfayı isterken olduğu gibi geri gönderir.
+// Akış iki bölümden oluşur: önce üye olunan kulüpler (MEMBER), sonra keşfet (DISCOVERY).
+// İmleç, hangi bölümde kalındığını ve o bölümdeki son kaydın (tarih, id) anahtarını taşır.
+public class FeedCursor {
+
+    public enum Segment {
+        MEMBER,
+        DISCOVERY
+    }
+
+    private static final String SEPARATOR = "|";
+
+    private final Segment segment;
+    private final LocalDateTime position;
+    private final Long id;
+
+    public FeedCursor(Segment segment, LocalDateTime position, Long id) {
+        this.segment = segment;
+        this.position = position;
+        this.id = id;
+    }
+
+    public Segment getSegment() {
+        return segment;
+    }
+
+    public LocalDateTime getPosition() {
+        return position;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = segment.name() + SEPARATOR + position + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Boş imleç ilk sayfa anlamına gelir ve null döner.
+    public static FeedCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid feed cursor.");
+            }
+            return new FeedCursor(Segment.valueOf(parts[0]), LocalDateTime.parse(parts[1]), Long.parseLong(parts[2]));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException ve geçersiz Base64 de IllegalArgumentException'dır.
+            throw new IllegalArgumentException("Invalid feed cursor.", e);
+        }
+    }
+}
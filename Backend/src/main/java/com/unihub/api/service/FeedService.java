@@ -1,12 +1,12 @@
 package com.unihub.api.service;
 
 import com.unihub.api.controller.responses.EventSummaryResponse;
+import com.unihub.api.controller.responses.FeedPageResponse;
 import com.unihub.api.controller.responses.PostSummaryResponse;
 import com.unihub.api.model.*;
 import com.unihub.api.repository.ClubMemberRepository;
 import com.unihub.api.repository.EventRepository;
 import com.unihub.api.repository.PostRepository;
-import com.unihub.api.repository.UserRepository;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +14,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -22,27 +23,28 @@ import java.util.stream.Stream;
 @Service
 public class FeedService {
 
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
     private final PostRepository postRepository;
     private final ClubMemberRepository clubMemberRepository;
     private final EventRepository eventRepository;
+    private final TimelineService timelineService;
+    private final PostService postService;
 
-    public FeedService(UserRepository userRepository, PostRepository postRepository, ClubMemberRepository clubMemberRepository, EventRepository eventRepository) {
-        this.userRepository = userRepository;
+    public FeedService(CurrentUserService currentUserService, PostRepository postRepository, ClubMemberRepository clubMemberRepository,
+                       EventRepository eventRepository, TimelineService timelineService, PostService postService) {
+        this.currentUserService = currentUserService;
         this.postRepository = postRepository;
         this.clubMemberRepository = clubMemberRepository;
         this.eventRepository = eventRepository;
+        this.timelineService = timelineService;
+        this.postService = postService;
     }
 
     @Transactional(readOnly = true)
     public List<EventSummaryResponse> getEventFeed(String firebaseUid, int page, int size, boolean onlyMemberClubs) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        User user = currentUserService.requireUser(firebaseUid);
 
-        List<Long> memberClubIds = user.getMemberships().stream()
-                .filter(m -> m.getStatus() == MembershipStatus.APPROVED)
-                .map(m -> m.getClub().getId())
-                .collect(Collectors.toList());
+        List<Long> memberClubIds = findApprovedClubIds(user);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by("eventDate").ascending()); // Yaklaşanları en üste al
         LocalDateTime now = LocalDateTime.now();
@@ -71,65 +73,142 @@ public class FeedService {
                 .map(this::mapEventToSummaryDto)
                 .collect(Collectors.toList());
     }
-    @Transactional(readOnly = true)
+    // Gönderi akışları transaction açmaz; id sorguları kendi transaction'larında, özetler
+    // PostService.getPostSummaries içinde okunur.
     public List<PostSummaryResponse> getPostFeed(String firebaseUid, int page, int size, boolean onlyMemberClubs) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        User user = currentUserService.requireUser(firebaseUid);
 
-        List<Long> memberClubIds = user.getMemberships().stream()
-                .filter(m -> m.getStatus() == MembershipStatus.APPROVED)
-                .map(m -> m.getClub().getId())
-                .collect(Collectors.toList());
+        List<Long> memberClubIds = findApprovedClubIds(user);
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by("creationDate").descending());
+        List<Long> memberPostIds = loadMemberPostIds(user.getId(), memberClubIds, null, page, size);
 
         // Eğer sadece üye olunan kulüpler isteniyorsa, sadece onları getir.
         if (onlyMemberClubs) {
-            return postRepository.findByClubIdIn(memberClubIds, pageable).stream()
-                    .map(post -> mapPostToSummaryDto(post, user.getId()))
-                    .collect(Collectors.toList());
+            return postService.getPostSummaries(memberPostIds, user.getId());
         }
 
-        // --- Eski mantık devam ediyor ---
-        List<Post> memberPosts = memberClubIds.isEmpty() ? Collections.emptyList()
-                : postRepository.findByClubIdIn(memberClubIds, pageable);
+        List<Long> discoveryPostIds = Collections.emptyList();
+        if (memberPostIds.size() < size) {
+            int discoverySize = size - memberPostIds.size();
+            Pageable discoveryPageable = PageRequest.of(0, discoverySize, newestPostsFirst());
+            discoveryPostIds = memberClubIds.isEmpty() ? postRepository.findAllIds(discoveryPageable)
+                    : postRepository.findIdsByClubIdNotIn(memberClubIds, discoveryPageable);
+        }
 
-        List<Post> discoveryPosts = Collections.emptyList();
-        if (memberPosts.size() < size) {
-            int discoverySize = size - memberPosts.size();
-            Pageable discoveryPageable = PageRequest.of(0, discoverySize, Sort.by("creationDate").descending());
-            discoveryPosts = memberClubIds.isEmpty() ? postRepository.findAll(discoveryPageable).getContent()
-                    : postRepository.findByClubIdNotIn(memberClubIds, discoveryPageable);
+        List<Long> pageIds = new ArrayList<>(memberPostIds);
+        pageIds.addAll(discoveryPostIds);
+        return postService.getPostSummaries(pageIds, user.getId());
+    }
+
+    // İmleç tabanlı gönderi akışı. Sayfa numarası yerine bir önceki sayfanın döndürdüğü imleç kullanılır,
+    // bu sayede derin sayfalar OFFSET taraması yapmaz ve keşfet bölümü her sayfada baştan başlamaz.
+    public FeedPageResponse<PostSummaryResponse> getPostFeedPage(String firebaseUid, String cursorToken, int size, boolean onlyMemberClubs) {
+        User user = currentUserService.requireUser(firebaseUid);
+        List<Long> memberClubIds = findApprovedClubIds(user);
+        FeedCursor cursor = FeedCursor.decode(cursorToken);
+
+        List<Long> memberPostIds = Collections.emptyList();
+        if (cursor == null || cursor.getSegment() == FeedCursor.Segment.MEMBER) {
+            memberPostIds = loadMemberPostIds(user.getId(), memberClubIds, cursor, 0, size);
         }
 
-        return Stream.concat(memberPosts.stream(), discoveryPosts.stream())
-                .map(post -> mapPostToSummaryDto(post, user.getId()))
-                .collect(Collectors.toList());
+        List<Long> discoveryPostIds = Collections.emptyList();
+        if (!onlyMemberClubs && memberPostIds.size() < size) {
+            // Keşfet bölümüne yeni geçiliyorsa en baştan, zaten keşfetteysek imleçten devam et.
+            FeedCursor discoveryCursor = cursor != null && cursor.getSegment() == FeedCursor.Segment.DISCOVERY ? cursor : null;
+            if (discoveryCursor == null) {
+                Pageable discoveryLimit = PageRequest.of(0, size - memberPostIds.size(), newestPostsFirst());
+                discoveryPostIds = memberClubIds.isEmpty() ? postRepository.findAllIds(discoveryLimit)
+                        : postRepository.findIdsByClubIdNotIn(memberClubIds, discoveryLimit);
+            } else {
+                Pageable keysetLimit = PageRequest.of(0, size - memberPostIds.size());
+                discoveryPostIds = memberClubIds.isEmpty()
+                        ? postRepository.findAllIdsBefore(discoveryCursor.getPosition(), discoveryCursor.getId(), keysetLimit)
+                        : postRepository.findIdsByClubIdNotInBefore(memberClubIds, discoveryCursor.getPosition(), discoveryCursor.getId(), keysetLimit);
+            }
+        }
+
+        List<Long> pageIds = new ArrayList<>(memberPostIds);
+        pageIds.addAll(discoveryPostIds);
+        List<PostSummaryResponse> items = postService.getPostSummaries(pageIds, user.getId());
+
+        String nextCursor = null;
+        if (!items.isEmpty() && pageIds.size() >= size) {
+            FeedCursor.Segment segment = discoveryPostIds.isEmpty() ? FeedCursor.Segment.MEMBER : FeedCursor.Segment.DISCOVERY;
+            PostSummaryResponse last = items.get(items.size() - 1);
+            nextCursor = new FeedCursor(segment, last.creationDate, last.id).encode();
+        }
+        return new FeedPageResponse<>(items, nextCursor);
     }
 
-    private PostSummaryResponse mapPostToSummaryDto(Post post, Long currentUserId) {
-        PostSummaryResponse dto = new PostSummaryResponse();
-        dto.id = post.getId();
-        dto.description = post.getDescription();
-        dto.creationDate = post.getCreationDate();
-        dto.pictureURLs = post.getImages().stream()
-                .map(PostImage::getImageUrl)
-                .collect(Collectors.toList());
-        if (post.getClub() != null) dto.clubName = post.getClub().getName();
-        if (post.getCreator() != null) dto.creatorName = post.getCreator().getName();
-
-        if (post.getLikes() != null) {
-            dto.likeCount = post.getLikes().size();
-            dto.isLikedByCurrentUser = post.getLikes().stream()
-                    .anyMatch(like -> like.getUser().getId().equals(currentUserId));
-        } else {
-            dto.likeCount = 0;
-            dto.isLikedByCurrentUser = false;
+    // İmleç tabanlı etkinlik akışı. Sadece gelecekteki etkinlikler, en yakın tarihten başlayarak listelenir.
+    @Transactional(readOnly = true)
+    public FeedPageResponse<EventSummaryResponse> getEventFeedPage(String firebaseUid, String cursorToken, int size, boolean onlyMemberClubs) {
+        User user = currentUserService.requireUser(firebaseUid);
+        List<Long> memberClubIds = findApprovedClubIds(user);
+        FeedCursor cursor = FeedCursor.decode(cursorToken);
+        LocalDateTime now = LocalDateTime.now();
+        Pageable limit = PageRequest.of(0, size);
+
+        List<Event> memberEvents = Collections.emptyList();
+        if (!memberClubIds.isEmpty() && (cursor == null || cursor.getSegment() == FeedCursor.Segment.MEMBER)) {
+            memberEvents = cursor == null
+                    ? eventRepository.findByClubIdInAndEventDateAfter(memberClubIds, now, PageRequest.of(0, size, soonestEventsFirst()))
+                    : eventRepository.findUpcomingByClubIdInAfter(memberClubIds, now, cursor.getPosition(), cursor.getId(), limit);
         }
-        return dto;
+
+        List<Event> discoveryEvents = Collections.emptyList();
+        if (!onlyMemberClubs && memberEvents.size() < size) {
+            FeedCursor discoveryCursor = cursor != null && cursor.getSegment() == FeedCursor.Segment.DISCOVERY ? cursor : null;
+            if (discoveryCursor == null) {
+                Pageable discoveryLimit = PageRequest.of(0, size - memberEvents.size(), soonestEventsFirst());
+                discoveryEvents = memberClubIds.isEmpty() ? eventRepository.findAllByEventDateAfter(now, discoveryLimit)
+                        : eventRepository.findByClubIdNotInAndEventDateAfter(memberClubIds, now, discoveryLimit);
+            } else {
+                Pageable keysetLimit = PageRequest.of(0, size - memberEvents.size());
+                discoveryEvents = memberClubIds.isEmpty()
+                        ? eventRepository.findAllUpcomingAfter(now, discoveryCursor.getPosition(), discoveryCursor.getId(), keysetLimit)
+                        : eventRepository.findUpcomingByClubIdNotInAfter(memberClubIds, now, discoveryCursor.getPosition(), discoveryCursor.getId(), keysetLimit);
+            }
+        }
+
+        List<EventSummaryResponse> items = new ArrayList<>();
+        memberEvents.forEach(event -> items.add(mapEventToSummaryDto(event)));
+        discoveryEvents.forEach(event -> items.add(mapEventToSummaryDto(event)));
+
+        String nextCursor = null;
+        if (!items.isEmpty() && items.size() >= size) {
+            nextCursor = discoveryEvents.isEmpty()
+                    ? eventCursor(FeedCursor.Segment.MEMBER, memberEvents.get(memberEvents.size() - 1))
+                    : eventCursor(FeedCursor.Segment.DISCOVERY, discoveryEvents.get(discoveryEvents.size() - 1));
+        }
+        return new FeedPageResponse<>(items, nextCursor);
+    }
+
+    // Üye olunan kulüplerin gönderi id'leri önceden hesaplanmış akıştan okunur.
+    private List<Long> loadMemberPostIds(Long userId, List<Long> memberClubIds, FeedCursor cursor, int page, int size) {
+        if (memberClubIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return timelineService.findPostIds(userId, cursor, page, size);
+    }
+
+    private List<Long> findApprovedClubIds(User user) {
+        return clubMemberRepository.findClubIdsByUserIdAndStatus(user.getId(), MembershipStatus.APPROVED);
     }
 
+    // Eşit tarihli kayıtlarda sıranın sabit kalması için id ikinci anahtar olarak kullanılır.
+    private Sort newestPostsFirst() {
+        return Sort.by(Sort.Order.desc("creationDate"), Sort.Order.desc("id"));
+    }
+
+    private Sort soonestEventsFirst() {
+        return Sort.by(Sort.Order.asc("eventDate"), Sort.Order.asc("id"));
+    }
 
+    private String eventCursor(FeedCursor.Segment segment, Event event) {
+        return new FeedCursor(segment, event.getEventDate(), event.getId()).encode();
+    }
 
     private EventSummaryResponse mapEventToSummaryDto(Event event) {
         EventSummaryResponse dto = new EventSummaryResponse();
@@ -0,0 +1,35 @@
+package com.unihub.api.service;
+
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.Storage;
+import com.google.firebase.cloud.StorageClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Firebase Storage üzerinde toplu silme. Storage'ın batch API'si sayesinde bir grup dosya tek HTTP
+// isteğiyle silinir.
+@Component
+@ConditionalOnProperty(name = "unihub.storage.backend", havingValue = "firebase", matchIfMissing = true)
+public class FirebaseBlobStore implements BlobStore {
+
+    private final StorageClient storageClient;
+    private volatile Storage storage;
+
+    public FirebaseBlobStore(StorageClient storageClient) {
+        this.storageClient = storageClient;
+    }
+
+    @Override
+    public List<Boolean> delete(List<BlobId> blobIds) {
+        return storage().delete(blobIds);
+    }
+
+    private Storage storage() {
+        if (storage == null) {
+            storage = storageClient.bucket().getStorage();
+        }
+        return storage;
+    }
+}
@@ -0,0 +1,82 @@
+package com.unihub.api.service;
+
+import com.google.firebase.ErrorCode;
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.Notification;
+import com.google.firebase.messaging.SendResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+// Bildirimleri FCM'e tek tek değil, sendEachForMulticast ile 500'lük gruplar halinde gönderir.
+@Component
+@ConditionalOnProperty(name = "unihub.notifications.sender", havingValue = "firebase", matchIfMissing = true)
+public class FirebasePushSender implements PushSender {
+
+    private static final Set<MessagingErrorCode> RETRYABLE_MESSAGING_ERRORS = Set.of(
+            MessagingErrorCode.UNAVAILABLE, MessagingErrorCode.INTERNAL, MessagingErrorCode.QUOTA_EXCEEDED);
+    private static final Set<ErrorCode> RETRYABLE_ERRORS = Set.of(
+            ErrorCode.UNAVAILABLE, ErrorCode.INTERNAL, ErrorCode.DEADLINE_EXCEEDED, ErrorCode.RESOURCE_EXHAUSTED);
+
+    private final FirebaseMessaging firebaseMessaging;
+
+    public FirebasePushSender(FirebaseMessaging firebaseMessaging) {
+        this.firebaseMessaging = firebaseMessaging;
+    }
+
+    @Override
+    public List<PushResult> send(String title, String body, List<String> tokens) {
+        if (tokens.size() > MAX_TOKENS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + MAX_TOKENS_PER_REQUEST + " tokens can be sent at once.");
+        }
+
+        MulticastMessage message = MulticastMessage.builder()
+                .setNotification(Notification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .build())
+                .addAllTokens(tokens)
+                .build();
+
+        List<PushResult> results = new ArrayList<>(tokens.size());
+        try {
+            BatchResponse response = firebaseMessaging.sendEachForMulticast(message);
+            List<SendResponse> responses = response.getResponses();
+            // INVALID_ARGUMENT bozuk bir mesajdan da kaynaklanabilir. Aynı istekte başarılı gönderim
+            // varsa mesaj sağlamdır ve hata token'a aittir; hiç yoksa token'lar silinmez.
+            boolean messageAccepted = response.getSuccessCount() > 0;
+            for (int i = 0; i < tokens.size(); i++) {
+                SendResponse sendResponse = responses.get(i);
+                results.add(sendResponse.isSuccessful()
+                        ? PushResult.sent(tokens.get(i))
+                        : toFailure(tokens.get(i), sendResponse.getException(), messageAccepted));
+            }
+        } catch (FirebaseMessagingException e) {
+            // İsteğin tamamı başarısız oldu (ağ, kimlik doğrulama vb.); her token aynı hatayı alır.
+            for (String token : tokens) {
+                results.add(toFailure(token, e, false));
+            }
+        }
+        return results;
+    }
+
+    private PushResult toFailure(String token, FirebaseMessagingException e, boolean messageAccepted) {
+        MessagingErrorCode messagingErrorCode = e.getMessagingErrorCode();
+        String errorCode = messagingErrorCode != null ? messagingErrorCode.name() : String.valueOf(e.getErrorCode());
+        if (messagingErrorCode == MessagingErrorCode.UNREGISTERED
+                || (messagingErrorCode == MessagingErrorCode.INVALID_ARGUMENT && messageAccepted)) {
+            return new PushResult(token, PushResult.Outcome.INVALID_TOKEN, errorCode);
+        }
+        boolean retryable = messagingErrorCode != null
+                ? RETRYABLE_MESSAGING_ERRORS.contains(messagingErrorCode)
+                : RETRYABLE_ERRORS.contains(e.getErrorCode());
+        return new PushResult(token, retryable ? PushResult.Outcome.RETRYABLE : PushResult.Outcome.FAILED, errorCode);
+    }
+}
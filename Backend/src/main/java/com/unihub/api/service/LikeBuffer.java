@@ -0,0 +1,331 @@
+package com.unihub.api.service;
+
+import com.unihub.api.repository.PostLikeRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Yoğun beğeni trafiği için yazma-arkası (write-behind) tampon.
+// toggle sadece bellekteki durumu değiştirip hemen döner; biriken değişiklikler kısa aralıklarla
+// ya da eşik aşıldığında tek transaction içinde toplu olarak post_likes ve posts.like_count'a yazılır.
+// Okuma tarafında kullanıcının kendi bekleyen durumu ve gönderinin bekleyen sayaç farkı
+// veritabanı değerinin üstüne bindirilir (read-your-writes).
+@Component
+public class LikeBuffer {
+
+    private static final String INSERT_LIKE_SQL = "INSERT INTO post_likes (user_id, post_id) SELECT ?, ? " +
+            "WHERE EXISTS (SELECT 1 FROM posts WHERE id = ?) AND EXISTS (SELECT 1 FROM users WHERE id = ?) " +
+            "ON CONFLICT (user_id, post_id) DO NOTHING";
+    private static final String DELETE_LIKE_SQL = "DELETE FROM post_likes WHERE user_id = ? AND post_id = ?";
+    private static final String ADJUST_COUNT_SQL = "UPDATE posts SET like_count = like_count + ? WHERE id = ?";
+    private static final int JDBC_BATCH_SIZE = 500;
+    private static final long MAX_FLUSH_WAIT_MS = 200;
+
+    private final PostLikeRepository postLikeRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushThreshold;
+
+    // (gönderi, kullanıcı) çiftleri kilit şeritlerine dağıtılır; farklı kullanıcıların
+    // aynı gönderiyi beğenmesi tek bir kilit üzerinde sıraya girmez.
+    private final Stripe[] stripes;
+    // Gönderi başına henüz yazılmamış beğeni farkı (+ beğeni, - geri alma).
+    private final Map<Long, Integer> pendingDeltas = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingEntries = new AtomicInteger();
+
+    // Yazma turu sayacı: tek değer yazma ve bellek güncellemesinin arasında olunduğunu gösterir.
+    // Okuyucular bu aralıkta veritabanı değerini ve bekleyen farkı birlikte okursa beğeni iki kez
+    // sayılabilir ya da hiç sayılmayabilir; sayaç bu durumu tespit etmek için kullanılır.
+    private final AtomicLong flushSequence = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "like-buffer-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LikeBuffer(PostLikeRepository postLikeRepository, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                      @Value("${unihub.likes.stripes:64}") int stripeCount,
+                      @Value("${unihub.likes.flush-threshold:500}") int flushThreshold) {
+        this.postLikeRepository = postLikeRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.flushThreshold = flushThreshold;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // Kullanıcının gönderideki beğeni durumunu tersine çevirir ve yeni durumu döndürür.
+    // Çiftin tamponda kaydı yoksa başlangıç durumu veritabanından bir kez okunur. Okuma şerit kilidi
+    // dışında yapılır; aynı şeride düşen diğer beğeniler ve yazma turu veritabanını beklemez.
+    public boolean toggle(Long postId, Long userId) {
+        LikeKey key = new LikeKey(postId, userId);
+        Stripe stripe = stripeFor(key);
+        boolean liked;
+        while (true) {
+            synchronized (stripe) {
+                PendingLike pending = stripe.entries.get(key);
+                if (pending != null) {
+                    pending.desired = !pending.desired;
+                    liked = pending.desired;
+                    break;
+                }
+            }
+            long marker = readMarker();
+            boolean persisted = postLikeRepository.existsByUserIdAndPostId(userId, postId);
+            synchronized (stripe) {
+                PendingLike pending = stripe.entries.get(key);
+                if (pending == null) {
+                    // Okuma sırasında bir yazma turu bu çifti yazıp tampondan çıkarmış olabilir; okunan değer
+                    // eskimiş olabileceği için tekrar okunur.
+                    if (!isConsistent(marker)) {
+                        continue;
+                    }
+                    pending = new PendingLike(persisted);
+                    stripe.entries.put(key, pending);
+                    pendingEntries.incrementAndGet();
+                }
+                // Araya giren başka bir istek kaydı oluşturduysa onunki kullanılır.
+                pending.desired = !pending.desired;
+                liked = pending.desired;
+                break;
+            }
+        }
+        addPendingDelta(postId, liked ? 1 : -1);
+
+        if (pendingEntries.get() >= flushThreshold && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+        return liked;
+    }
+
+    public int pendingDelta(Long postId) {
+        return pendingDeltas.getOrDefault(postId, 0);
+    }
+
+    // Kullanıcının bu gönderi için henüz yazılmamış bir durumu varsa onu döndürür.
+    public Optional<Boolean> pendingState(Long postId, Long userId) {
+        if (userId == null) {
+            return Optional.empty();
+        }
+        LikeKey key = new LikeKey(postId, userId);
+        Stripe stripe = stripeFor(key);
+        synchronized (stripe) {
+            PendingLike pending = stripe.entries.get(key);
+            return pending == null ? Optional.empty() : Optional.of(pending.desired);
+        }
+    }
+
+    // Veritabanı ve tampon birlikte okunmadan önce alınır. Devam eden bir yazma turu varsa
+    // kısa bir süre bitmesi beklenir.
+    public long readMarker() {
+        long sequence = flushSequence.get();
+        if (sequence % 2 == 0) {
+            return sequence;
+        }
+        synchronized (flushSequence) {
+            long deadline = System.currentTimeMillis() + MAX_FLUSH_WAIT_MS;
+            while (flushSequence.get() == sequence && System.currentTimeMillis() < deadline) {
+                try {
+                    flushSequence.wait(Math.max(1, deadline - System.currentTimeMillis()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return flushSequence.get();
+    }
+
+    // readMarker'dan bu yana hiçbir yazma turu başlamadıysa okunan değerler tutarlıdır.
+    public boolean isConsistent(long marker) {
+        return marker % 2 == 0 && flushSequence.get() == marker;
+    }
+
+    // Okuma sürerken yazma turu başlamaz; işaretle yapılan okumalar tekrar tekrar yazma turlarına
+    // denk geldiğinde son çare olarak kullanılır.
+    public <T> T readWithoutFlush(Supplier<T> read) {
+        flushLock.lock();
+        try {
+            return read.get();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${unihub.likes.flush-interval-ms:500}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            List<FlushItem> items = snapshot();
+            if (items.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    // Bağlantı alındıktan sonra işaretlenir; bekleyen okuyucular yazma turunu bağlantısız bırakamaz.
+                    flushSequence.incrementAndGet();
+                    write(items);
+                });
+                reconcile(items);
+            } catch (RuntimeException e) {
+                // Kayıtlar tamponda kalır ve bir sonraki turda tekrar denenir.
+                System.err.println("Beğeniler veritabanına yazılamadı: " + e.getMessage());
+            } finally {
+                if (flushSequence.get() % 2 != 0) {
+                    synchronized (flushSequence) {
+                        flushSequence.incrementAndGet();
+                        flushSequence.notifyAll();
+                    }
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // Kapanışta bekleyen tüm beğeniler yazılır.
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    // Yazılacak kayıtları toplar. İki kez tıklanıp eski haline dönen kayıtlar yazılmadan atılır.
+    // Kayıtlar yazma bitene kadar tamponda kalır; böylece bu sırada gelen okumalar da doğru durumu görür.
+    private List<FlushItem> snapshot() {
+        List<FlushItem> items = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                Iterator<Map.Entry<LikeKey, PendingLike>> iterator = stripe.entries.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<LikeKey, PendingLike> entry = iterator.next();
+                    if (entry.getValue().desired == entry.getValue().persisted) {
+                        iterator.remove();
+                        pendingEntries.decrementAndGet();
+                    } else {
+                        items.add(new FlushItem(entry.getKey(), entry.getValue().desired));
+                    }
+                }
+            }
+        }
+        return items;
+    }
+
+    private void write(List<FlushItem> items) {
+        List<FlushItem> inserts = items.stream().filter(FlushItem::liked).toList();
+        List<FlushItem> deletes = items.stream().filter(item -> !item.liked()).toList();
+
+        // Sayaç, gerçekten eklenen/silinen satır sayısına göre güncellenir;
+        // bu arada silinmiş gönderi veya kullanıcılar için yapılan beğeniler sessizce düşer.
+        Map<Long, Integer> appliedDeltas = new HashMap<>();
+        int[][] insertCounts = jdbcTemplate.batchUpdate(INSERT_LIKE_SQL, inserts, JDBC_BATCH_SIZE, (ps, item) -> {
+            ps.setLong(1, item.key().userId());
+            ps.setLong(2, item.key().postId());
+            ps.setLong(3, item.key().postId());
+            ps.setLong(4, item.key().userId());
+        });
+        collectAppliedDeltas(inserts, insertCounts, 1, appliedDeltas);
+        int[][] deleteCounts = jdbcTemplate.batchUpdate(DELETE_LIKE_SQL, deletes, JDBC_BATCH_SIZE, (ps, item) -> {
+            ps.setLong(1, item.key().userId());
+            ps.setLong(2, item.key().postId());
+        });
+        collectAppliedDeltas(deletes, deleteCounts, -1, appliedDeltas);
+
+        List<Map.Entry<Long, Integer>> countUpdates = appliedDeltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .toList();
+        jdbcTemplate.batchUpdate(ADJUST_COUNT_SQL, countUpdates, JDBC_BATCH_SIZE, (ps, entry) -> {
+            ps.setInt(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+    }
+
+    private void collectAppliedDeltas(List<FlushItem> items, int[][] counts, int sign, Map<Long, Integer> appliedDeltas) {
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    appliedDeltas.merge(items.get(index).key().postId(), sign * count, Integer::sum);
+                }
+                index++;
+            }
+        }
+    }
+
+    // Yazılan kayıtların kalıcı durumunu günceller. Yazma sırasında tekrar tıklanmış kayıtlar
+    // tamponda kalır ve bir sonraki turda yazılır.
+    private void reconcile(List<FlushItem> items) {
+        for (FlushItem item : items) {
+            Stripe stripe = stripeFor(item.key());
+            synchronized (stripe) {
+                PendingLike pending = stripe.entries.get(item.key());
+                if (pending != null) {
+                    pending.persisted = item.liked();
+                    if (pending.desired == pending.persisted) {
+                        stripe.entries.remove(item.key());
+                        pendingEntries.decrementAndGet();
+                    }
+                }
+            }
+            addPendingDelta(item.key().postId(), item.liked() ? -1 : 1);
+        }
+    }
+
+    private void addPendingDelta(Long postId, int delta) {
+        pendingDeltas.merge(postId, delta, (current, change) -> current + change == 0 ? null : current + change);
+    }
+
+    private Stripe stripeFor(LikeKey key) {
+        return stripes[Math.floorMod(key.hashCode(), stripes.length)];
+    }
+
+    private record LikeKey(Long postId, Long userId) {
+    }
+
+    private record FlushItem(LikeKey key, boolean liked) {
+    }
+
+    private static final class Stripe {
+        private final Map<LikeKey, PendingLike> entries = new HashMap<>();
+    }
+
+    private static final class PendingLike {
+        private boolean persisted;
+        private boolean desired;
+
+        private PendingLike(boolean persisted) {
+            this.persisted = persisted;
+            this.desired = persisted;
+        }
+    }
+}
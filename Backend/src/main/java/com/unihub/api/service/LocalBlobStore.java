@@ -0,0 +1,39 @@
+package com.unihub.api.service;
+
+import com.google.cloud.storage.BlobId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Yerel geliştirme ve testler için bellek içi sahte depo. Storage'a bağlanmaz; silinen dosyaları hatırlar
+// ve aynı dosya ikinci kez silinirse "yoktu" (false) döner. Dosya adı "fail-" ile başlayan dosya içeren gruplar
+// Storage hatası gibi exception fırlatır, böylece tekrar deneme davranışı denenebilir.
+@Component
+@ConditionalOnProperty(name = "unihub.storage.backend", havingValue = "local")
+public class LocalBlobStore implements BlobStore {
+
+    private static final String FAILING_PREFIX = "fail-";
+
+    private final Set<BlobId> deleted = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public List<Boolean> delete(List<BlobId> blobIds) {
+        if (blobIds.stream().anyMatch(blobId -> fileName(blobId).startsWith(FAILING_PREFIX))) {
+            throw new IllegalStateException("Simulated storage failure");
+        }
+        System.out.println("LOCAL STORAGE: " + blobIds.size() + " dosya silindi");
+        return blobIds.stream().map(deleted::add).collect(Collectors.toList());
+    }
+
+    private static String fileName(BlobId blobId) {
+        return blobId.getName().substring(blobId.getName().lastIndexOf('/') + 1);
+    }
+
+    public Set<BlobId> getDeleted() {
+        return Set.copyOf(deleted);
+    }
+}
@@ -0,0 +1,26 @@
+package com.unihub.api.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Yerel geliştirme ve testler için sahte gönderici. FCM'e bağlanmaz, sadece log yazar.
+// "unregistered-" ile başlayan token'lar FCM'in UNREGISTERED hatası gibi geçersiz sayılır.
+@Component
+@ConditionalOnProperty(name = "unihub.notifications.sender", havingValue = "local")
+public class LocalPushSender implements PushSender {
+
+    private static final String UNREGISTERED_PREFIX = "unregistered-";
+
+    @Override
+    public List<PushResult> send(String title, String body, List<String> tokens) {
+        System.out.println("LOCAL PUSH: '" + title + "' -> " + tokens.size() + " cihaz");
+        return tokens.stream()
+                .map(token -> token.startsWith(UNREGISTERED_PREFIX)
+                        ? new PushResult(token, PushResult.Outcome.INVALID_TOKEN, "UNREGISTERED")
+                        : PushResult.sent(token))
+                .collect(Collectors.toList());
+    }
+}
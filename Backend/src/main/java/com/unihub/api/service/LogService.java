@@ -1,30 +1,188 @@
 package com.unihub.api.service;
 
-import com.unihub.api.model.Club;
-import com.unihub.api.model.ClubLog;
-import com.unihub.api.model.User;
-import com.unihub.api.repository.ClubLogRepository;
-import com.unihub.api.repository.ClubRepository;
-import com.unihub.api.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Kulüp denetim kayıtlarını (club_logs) sadece ekleme yapan bir hatla yazar.
+// logClubAction işlemin transaction'ında sadece bir olay yayınlar; kayıt commit sonrasında sınırlı bir
+// kuyruğa girer ve kısa aralıklarla (ya da kuyruk bir grup dolduğunda) tek JDBC batch ile yazılır.
+// Yazma sadece id'lerle yapılır; kulüp veya kullanıcı bu arada silinmişse satır sessizce atlanır.
 @Service
-@RequiredArgsConstructor // Constructor injection'ı otomatik yapar
-public class LogService {
+public class LogService implements MetricSource {
+
+    private static final String INSERT_LOG_SQL = "INSERT INTO club_logs (club_id, actor_user_id, action, timestamp) " +
+            "SELECT ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM clubs WHERE id = ?) " +
+            "AND EXISTS (SELECT 1 FROM users WHERE id = ?)";
+    private static final int MAX_ACTION_LENGTH = 255;
+
+    private final CurrentUserService currentUserService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
 
-    private final ClubLogRepository clubLogRepository;
-    private final UserRepository userRepository;
-    private final ClubRepository clubRepository;
+    private final BlockingQueue<PendingLog> queue;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "club-log-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final AtomicLong lastFlushLagMs = new AtomicLong();
+    private final AtomicLong maxFlushLagMs = new AtomicLong();
+
+    public LogService(CurrentUserService currentUserService, ApplicationEventPublisher eventPublisher,
+                      JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                      @Value("${unihub.logs.queue-capacity:10000}") int queueCapacity,
+                      @Value("${unihub.logs.batch-size:500}") int batchSize) {
+        this.currentUserService = currentUserService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+    }
 
     public void logClubAction(Long clubId, String actorFirebaseUid, String action) {
-        User actor = userRepository.findByFirebaseUid(actorFirebaseUid)
-                .orElseThrow(() -> new RuntimeException("Log actor not found."));
+        Long actorId = currentUserService.requireUserId(actorFirebaseUid);
+        String trimmed = action.length() > MAX_ACTION_LENGTH ? action.substring(0, MAX_ACTION_LENGTH) : action;
+        eventPublisher.publishEvent(new ClubActionLoggedEvent(clubId, actorId, trimmed, LocalDateTime.now()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onClubActionLogged(ClubActionLoggedEvent event) {
+        PendingLog log = new PendingLog(event, System.currentTimeMillis());
+        if (!queue.offer(log)) {
+            // Kuyruk doluysa yazar geride kalmıştır; çağıran bir tur yazmayı bekler (geri basınç).
+            flush();
+            if (!queue.offer(log)) {
+                dropped.increment();
+                System.err.println("Kulüp logu kuyruğu dolu, kayıt atlandı: " + event);
+                return;
+            }
+        }
+        enqueued.increment();
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
 
-        Club club = clubRepository.findById(clubId)
-                .orElseThrow(() -> new RuntimeException("Log club not found."));
+    // Kayıtlar yazılana kadar kuyruğun başında kalır; sadece bu metot kuyruktan eleman çıkardığı için
+    // başarılı bir yazmadan sonra ilk n kayıt tam olarak yazılanlardır. Hata durumunda bir sonraki turda
+    // aynı grup tekrar denenir.
+    @Scheduled(fixedDelayString = "${unihub.logs.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        while (!queue.isEmpty()) {
+            List<PendingLog> batch = new ArrayList<>(batchSize);
+            Iterator<PendingLog> iterator = queue.iterator();
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                batch.add(iterator.next());
+            }
+            try {
+                int[][] counts = transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(INSERT_LOG_SQL, batch, batchSize,
+                        (statement, log) -> {
+                            ClubActionLoggedEvent event = log.event();
+                            statement.setLong(1, event.clubId());
+                            statement.setLong(2, event.actorId());
+                            statement.setString(3, event.action());
+                            statement.setTimestamp(4, Timestamp.valueOf(event.timestamp()));
+                            statement.setLong(5, event.clubId());
+                            statement.setLong(6, event.actorId());
+                        }));
+                recordWritten(counts);
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                System.err.println("Kulüp logları yazılamadı: " + e.getMessage());
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                queue.poll();
+            }
+            long lag = System.currentTimeMillis() - batch.get(0).enqueuedAt();
+            lastFlushLagMs.set(lag);
+            maxFlushLagMs.accumulateAndGet(lag, Math::max);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        flush();
+    }
+
+    private void recordWritten(int[][] counts) {
+        if (counts == null) {
+            return;
+        }
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                if (count == 0) {
+                    skipped.increment();
+                } else {
+                    // Sürücü satır sayısını bildiremezse (SUCCESS_NO_INFO) kayıt yazılmış sayılır.
+                    written.increment();
+                }
+            }
+        }
+    }
+
+    @Override
+    public String getMetricName() {
+        return "clubLogs";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        PendingLog oldest = queue.peek();
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("pending", queue.size());
+        metrics.put("oldestPendingMs", oldest == null ? 0 : System.currentTimeMillis() - oldest.enqueuedAt());
+        metrics.put("lastFlushLagMs", lastFlushLagMs.get());
+        metrics.put("maxFlushLagMs", maxFlushLagMs.get());
+        metrics.put("enqueued", enqueued.sum());
+        metrics.put("written", written.sum());
+        metrics.put("skipped", skipped.sum());
+        metrics.put("dropped", dropped.sum());
+        metrics.put("failedBatches", failedBatches.sum());
+        return metrics;
+    }
 
-        ClubLog log = new ClubLog(club, actor, action);
-        clubLogRepository.save(log);
+    private record PendingLog(ClubActionLoggedEvent event, long enqueuedAt) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.unihub.api.service;
+
+import com.unihub.api.model.MembershipStatus;
+import com.unihub.api.model.Role;
+import com.unihub.api.repository.ClubMemberRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Yetki kontrolleri için (userId, clubId) -> üyelik (id, rol, durum) önbelleği. Üye olmama durumu da
+// önbelleğe alınır. Üyeliği değiştiren her işlem MembershipChangedEvent yayınlar ve kayıt transaction
+// bittiğinde silinir. Silme ile eşzamanlı çalışan bir okuma eski satırı önbelleğe geri yazamasın diye,
+// okuma sırasında herhangi bir silme olduysa sonuç önbelleğe alınmaz. Kayıtlar ayrıca
+// unihub.clubs.membership-cache-ttl-seconds sonra kendiliğinden düşer.
+@Component
+public class MembershipCache implements MetricSource {
+
+    private final ClubMemberRepository clubMemberRepository;
+    private final CurrentUserService currentUserService;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<MembershipKey, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong evictionEpoch = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public MembershipCache(ClubMemberRepository clubMemberRepository, CurrentUserService currentUserService,
+                           @Value("${unihub.clubs.membership-cache-ttl-seconds:300}") long ttlSeconds,
+                           @Value("${unihub.clubs.membership-cache-size:50000}") int maxEntries) {
+        this.clubMemberRepository = clubMemberRepository;
+        this.currentUserService = currentUserService;
+        this.ttlMs = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<Membership> find(Long userId, Long clubId) {
+        MembershipKey key = new MembershipKey(userId, clubId);
+        CacheEntry entry = entries.get(key);
+        if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return entry.membership;
+        }
+        misses.increment();
+        long epoch = evictionEpoch.get();
+        Optional<Membership> membership = clubMemberRepository.findAccessByClubIdAndUserId(clubId, userId)
+                .map(view -> new Membership(view.getId(), view.getRole(), view.getStatus()));
+        if (entries.size() >= maxEntries) {
+            // Sınır aşılırsa önbellek sıfırlanır; kayıtlar ilk istekte tekrar dolar.
+            entries.clear();
+        }
+        // Silme sayacı yazma ile aynı anahtar kilidi altında tekrar kontrol edilir. Sayacı artıran silme
+        // kaydı ya bu yazmadan sonra kaldırır ya da yazma sayacın değiştiğini görür ve mevcut kaydı bırakır.
+        entries.compute(key, (ignored, current) -> evictionEpoch.get() == epoch
+                ? new CacheEntry(membership, System.currentTimeMillis() + ttlMs)
+                : current);
+        return membership;
+    }
+
+    // Kullanıcının kulüpte üyeliği olduğunu ve (verildiyse) rollerden birine sahip olduğunu doğrular.
+    public Membership require(String firebaseUid, Long clubId, Role... allowedRoles) {
+        Long userId = currentUserService.requireUserId(firebaseUid);
+        Membership membership = find(userId, clubId)
+                .orElseThrow(() -> new RuntimeException("User is not a member of this club."));
+        if (allowedRoles == null || allowedRoles.length == 0) {
+            return membership;
+        }
+        for (Role allowedRole : allowedRoles) {
+            if (membership.role() == allowedRole) {
+                return membership;
+            }
+        }
+        throw new SecurityException("User does not have the required role for this action.");
+    }
+
+    // Geri alınan işlemde de silinir: işlem kendi değişikliğini okuyup önbelleğe yazmış olabilir.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onMembershipChanged(MembershipChangedEvent event) {
+        evictionEpoch.incrementAndGet();
+        evictions.increment();
+        if (event.userId() != null && event.clubId() != null) {
+            entries.remove(new MembershipKey(event.userId(), event.clubId()));
+        } else if (event.clubId() != null) {
+            entries.keySet().removeIf(key -> key.clubId().equals(event.clubId()));
+        } else if (event.userId() != null) {
+            entries.keySet().removeIf(key -> key.userId().equals(event.userId()));
+        }
+    }
+
+    @Override
+    public String getMetricName() {
+        return "membershipCache";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("entries", entries.size());
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        metrics.put("evictions", evictions.sum());
+        return metrics;
+    }
+
+    public record Membership(Long id, Role role, MembershipStatus status) {
+    }
+
+    private record MembershipKey(Long userId, Long clubId) {
+    }
+
+    private record CacheEntry(Optional<Membership> membership, long expiresAt) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.unihub.api.service;
+
+// Bir üyeliğin rolü/durumu değiştiğinde, üyelik oluşturulduğunda veya silindiğinde yayınlanır.
+// Üyelik önbelleği commit sonrasında ilgili kaydı siler. userId null ise kulübün, clubId null ise
+// kullanıcının tüm kayıtları silinir (kulüp/kullanıcı silme).
+public record MembershipChangedEvent(Long userId, Long clubId) {
+}
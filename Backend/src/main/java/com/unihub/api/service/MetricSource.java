@@ -0,0 +1,11 @@
+package com.unihub.api.service;
+
+import java.util.Map;
+
+// /api/metrics altında yayınlanan basit sayaçlar. Her kaynak kendi adı altında anlık değerlerini döndürür.
+public interface MetricSource {
+
+    String getMetricName();
+
+    Map<String, Number> getMetrics();
+}
@@ -0,0 +1,152 @@
+package com.unihub.api.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Bellek içi trigram (3'lü harf grubu) arama indeksi. Her kelime pg_trgm'deki gibi başına iki, sonuna bir
+// boşluk eklenerek parçalanır; sorgunun son kelimesine sondaki boşluk eklenmez, böylece yazılmakta olan
+// kelime önek olarak eşleşir ("mü" -> "müzik"). Metinler TurkishTextNormalizer ile normalleştirilir.
+//
+// Sonuçlar şu sırayla dizilir: metin sorguyla başlıyor > bir kelime sorguyla başlıyor > metin sorguyu
+// içeriyor > sadece trigram benzerliği (yazım hatası toleransı). Eşitlikte benzerlik, sonra rank
+// (örn. kulüp üye sayısı) büyük olan önce gelir.
+public class NgramIndex<T> {
+
+    private static final double MIN_SIMILARITY = 0.5;
+
+    private final Map<Long, Document<T>> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String text, long rank, T value) {
+        String normalized = TurkishTextNormalizer.normalize(text);
+        Set<String> grams = trigrams(normalized, false);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            documents.put(id, new Document<>(normalized, grams, rank, value));
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<T> search(String query, int offset, int limit) {
+        String normalizedQuery = TurkishTextNormalizer.normalize(query);
+        Set<String> queryGrams = trigrams(normalizedQuery, true);
+        if (queryGrams.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        List<Match<T>> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> hitCounts = new HashMap<>();
+            for (String gram : queryGrams) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    for (Long id : ids) {
+                        hitCounts.merge(id, 1, Integer::sum);
+                    }
+                }
+            }
+            for (Map.Entry<Long, Integer> hit : hitCounts.entrySet()) {
+                Document<T> document = documents.get(hit.getKey());
+                double similarity = (double) hit.getValue() / queryGrams.size();
+                int tier = tier(document.text(), normalizedQuery);
+                if (tier < 3 || similarity >= MIN_SIMILARITY) {
+                    matches.add(new Match<>(hit.getKey(), document, tier, similarity));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matches.stream()
+                .sorted(Comparator.<Match<T>>comparingInt(Match::tier)
+                        .thenComparing(Comparator.comparingDouble(Match<T>::similarity).reversed())
+                        .thenComparing(Comparator.comparingLong((Match<T> match) -> match.document().rank()).reversed())
+                        .thenComparing(match -> match.document().text())
+                        .thenComparingLong(Match::id))
+                .skip(offset)
+                .limit(limit)
+                .map(match -> match.document().value())
+                .toList();
+    }
+
+    private void removeLocked(long id) {
+        Document<T> previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String gram : previous.grams()) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static int tier(String text, String query) {
+        if (text.startsWith(query)) {
+            return 0;
+        }
+        if (text.contains(" " + query)) {
+            return 1;
+        }
+        return text.contains(query) ? 2 : 3;
+    }
+
+    private static Set<String> trigrams(String normalized, boolean prefixQuery) {
+        Set<String> grams = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return grams;
+        }
+        String[] words = normalized.split(" ");
+        for (int w = 0; w < words.length; w++) {
+            boolean lastQueryWord = prefixQuery && w == words.length - 1;
+            String padded = "  " + words[w] + (lastQueryWord ? "" : " ");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+        return grams;
+    }
+
+    private record Document<T>(String text, Set<String> grams, long rank, T value) {
+    }
+
+    private record Match<T>(long id, Document<T> document, int tier, double similarity) {
+    }
+}
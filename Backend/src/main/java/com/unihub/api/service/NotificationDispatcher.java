@@ -0,0 +1,200 @@
+package com.unihub.api.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+// Bildirim gönderim hattı. Token listesi 500'lük gruplara bölünür ve her grup sınırlı bir
+// iş parçacığı havuzunda gönderilir. Kuyruk doluysa çağıran (NotificationService'in yayma iş parçacığı)
+// yer açılana kadar en fazla enqueue-timeout-ms bekler; süre dolarsa grup atlanır ve sayılır. Gönderim
+// hiçbir zaman çağıran iş parçacığında yapılmaz, böylece kuyruk sınırsız büyümez ve istekler beklemez.
+// Geçici hatalar rastgele gecikmeli (jitter) üstel bekleme ile tekrar denenir.
+@Component
+public class NotificationDispatcher implements MetricSource {
+
+    private final PushSender pushSender;
+    private final FcmTokenPruner fcmTokenPruner;
+    private final ThreadPoolExecutor executor;
+    private final int maxAttempts;
+    private final long retryBaseDelayMs;
+    private final long enqueueTimeoutMs;
+
+    private final LongAdder submittedBatches = new LongAdder();
+    private final LongAdder droppedBatches = new LongAdder();
+    private final LongAdder droppedMessages = new LongAdder();
+    private final LongAdder sentMessages = new LongAdder();
+    private final LongAdder failedMessages = new LongAdder();
+    private final LongAdder retriedMessages = new LongAdder();
+    private final LongAdder invalidTokens = new LongAdder();
+    private final LongAdder sendCalls = new LongAdder();
+    private final LongAdder sendTimeTotalMs = new LongAdder();
+    private final AtomicLong sendTimeMaxMs = new AtomicLong();
+
+    public NotificationDispatcher(PushSender pushSender, FcmTokenPruner fcmTokenPruner,
+                                  @Value("${unihub.notifications.workers:4}") int workers,
+                                  @Value("${unihub.notifications.queue-capacity:1000}") int queueCapacity,
+                                  @Value("${unihub.notifications.max-attempts:3}") int maxAttempts,
+                                  @Value("${unihub.notifications.retry-base-delay-ms:500}") long retryBaseDelayMs,
+                                  @Value("${unihub.notifications.enqueue-timeout-ms:5000}") long enqueueTimeoutMs) {
+        this.pushSender = pushSender;
+        this.fcmTokenPruner = fcmTokenPruner;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseDelayMs = retryBaseDelayMs;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                this::waitForQueueSpace);
+    }
+
+    public void dispatch(String title, String body, List<String> tokens) {
+        for (int from = 0; from < tokens.size(); from += PushSender.MAX_TOKENS_PER_REQUEST) {
+            List<String> batch = List.copyOf(tokens.subList(from, Math.min(from + PushSender.MAX_TOKENS_PER_REQUEST, tokens.size())));
+            try {
+                executor.execute(() -> sendWithRetry(title, body, batch));
+                submittedBatches.increment();
+            } catch (RejectedExecutionException e) {
+                droppedBatches.increment();
+                droppedMessages.add(batch.size());
+                System.err.println(batch.size() + " bildirim atlandı: " + e.getMessage());
+            }
+        }
+    }
+
+    // Havuz kuyruğu doluyken çağrılır: görev, süre sınırıyla kuyruğa konmaya çalışılır.
+    private void waitForQueueSpace(Runnable task, ThreadPoolExecutor pool) {
+        if (pool.isShutdown()) {
+            throw new RejectedExecutionException("gönderim hattı kapatıldı");
+        }
+        try {
+            if (!pool.getQueue().offer(task, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new RejectedExecutionException("gönderim kuyruğu " + enqueueTimeoutMs + " ms boyunca dolu kaldı");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("kuyruğa eklerken kesildi", e);
+        }
+    }
+
+    private void sendWithRetry(String title, String body, List<String> tokens) {
+        List<String> remaining = tokens;
+        for (int attempt = 1; !remaining.isEmpty(); attempt++) {
+            List<PushResult> results = timedSend(title, body, remaining);
+
+            List<String> retryable = new ArrayList<>();
+            List<String> invalid = new ArrayList<>();
+            for (PushResult result : results) {
+                switch (result.outcome()) {
+                    case SENT -> sentMessages.increment();
+                    case RETRYABLE -> retryable.add(result.token());
+                    case INVALID_TOKEN -> invalid.add(result.token());
+                    case FAILED -> {
+                        failedMessages.increment();
+                        System.err.println("Bildirim gönderilemedi: " + result.token() + ", Hata: " + result.errorCode());
+                    }
+                }
+            }
+
+            if (!invalid.isEmpty()) {
+                // Ölü cihazlar bir sonraki gönderimlerde yer almasın diye kullanıcılardan silinir.
+                invalidTokens.add(invalid.size());
+                fcmTokenPruner.prune(invalid);
+            }
+            if (retryable.isEmpty()) {
+                return;
+            }
+            if (attempt >= maxAttempts) {
+                failedMessages.add(retryable.size());
+                System.err.println(retryable.size() + " bildirim " + attempt + " denemeden sonra gönderilemedi.");
+                return;
+            }
+            retriedMessages.add(retryable.size());
+            if (!sleepBeforeRetry(attempt)) {
+                failedMessages.add(retryable.size());
+                return;
+            }
+            remaining = retryable;
+        }
+    }
+
+    private List<PushResult> timedSend(String title, String body, List<String> tokens) {
+        long start = System.nanoTime();
+        try {
+            return pushSender.send(title, body, tokens);
+        } catch (RuntimeException e) {
+            // Gönderici beklenmedik bir hata fırlatırsa grubun tamamı geçici hata sayılır.
+            System.err.println("Bildirim grubu gönderilirken hata: " + e.getMessage());
+            return tokens.stream()
+                    .map(token -> new PushResult(token, PushResult.Outcome.RETRYABLE, e.getClass().getSimpleName()))
+                    .collect(Collectors.toList());
+        } finally {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            sendCalls.increment();
+            sendTimeTotalMs.add(elapsedMs);
+            sendTimeMaxMs.accumulateAndGet(elapsedMs, Math::max);
+        }
+    }
+
+    // Full jitter: bekleme süresi 0 ile üstel sınır arasında rastgele seçilir,
+    // böylece aynı anda hata alan gruplar FCM'e aynı anda geri dönmez.
+    private boolean sleepBeforeRetry(int attempt) {
+        long cap = retryBaseDelayMs * (1L << Math.min(attempt - 1, 10));
+        long delay = ThreadLocalRandom.current().nextLong(cap + 1);
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public String getMetricName() {
+        return "notifications";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        long calls = sendCalls.sum();
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("activeWorkers", executor.getActiveCount());
+        metrics.put("submittedBatches", submittedBatches.sum());
+        metrics.put("droppedBatches", droppedBatches.sum());
+        metrics.put("droppedMessages", droppedMessages.sum());
+        metrics.put("sent", sentMessages.sum());
+        metrics.put("failed", failedMessages.sum());
+        metrics.put("retried", retriedMessages.sum());
+        metrics.put("invalidTokens", invalidTokens.sum());
+        metrics.put("sendCalls", calls);
+        metrics.put("sendLatencyAvgMs", calls == 0 ? 0 : sendTimeTotalMs.sum() / calls);
+        metrics.put("sendLatencyMaxMs", sendTimeMaxMs.get());
+        return metrics;
+    }
+}
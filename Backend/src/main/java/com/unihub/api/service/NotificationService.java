@@ -1,72 +1,136 @@
 package com.unihub.api.service;
 
-import com.google.firebase.messaging.FirebaseMessaging;
-import com.google.firebase.messaging.FirebaseMessagingException;
-import com.google.firebase.messaging.Message;
-import com.google.firebase.messaging.Notification;
-import com.unihub.api.model.Event;
-import com.unihub.api.model.Post;
+import com.unihub.api.repository.ClubMemberRepository;
+import com.unihub.api.repository.MemberTokenView;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
+// Gönderi/etkinlik yayınlandığında kulüp üyelerine bildirim gönderir. Commit sonrası dinleyiciler sadece
+// işi ayrı bir yayma (fan-out) iş parçacığına bırakır; token'ların parça parça okunması ve gönderim hattına
+// verilmesi HTTP isteğini bekletmez. Yayma kuyruğu sınırlıdır; dolarsa bildirim atlanır ve sayılır.
 @Service
-public class NotificationService {
+public class NotificationService implements MetricSource {
 
-    private final FirebaseMessaging firebaseMessaging;
+    private final NotificationDispatcher notificationDispatcher;
+    private final ClubMemberRepository clubMemberRepository;
+    private final int tokenChunkSize;
+    private final ThreadPoolExecutor fanoutExecutor;
 
-    public NotificationService(FirebaseMessaging firebaseMessaging) {
-        this.firebaseMessaging = firebaseMessaging;
-    }
-
-    public void sendNewPostNotification(Post post) {
-        List<String> tokens = post.getClub().getMembers().stream()
-                .filter(member -> member.isPostNotificationsEnabled() && member.getUser().getFcmToken() != null)
-                .map(member -> member.getUser().getFcmToken())
-                .collect(Collectors.toList());
+    private final LongAdder scheduledFanouts = new LongAdder();
+    private final LongAdder droppedFanouts = new LongAdder();
+    private final LongAdder failedFanouts = new LongAdder();
 
-        if (tokens.isEmpty()) return;
+    public NotificationService(NotificationDispatcher notificationDispatcher, ClubMemberRepository clubMemberRepository,
+                               @Value("${unihub.notifications.token-chunk-size:1000}") int tokenChunkSize,
+                               @Value("${unihub.notifications.fanout-queue-capacity:1000}") int fanoutQueueCapacity) {
+        this.notificationDispatcher = notificationDispatcher;
+        this.clubMemberRepository = clubMemberRepository;
+        this.tokenChunkSize = tokenChunkSize;
+        this.fanoutExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fanoutQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-fanout");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
 
-        String title = post.getClub().getName();
+    // Gönderi kaydı commit olduktan sonra çalışır; geri alınan bir gönderi için bildirim gitmez.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPostPublished(PostPublishedEvent event) {
         String body = String.format("Yeni bir gönderi paylaştı: \"%s...\"",
-                post.getDescription().substring(0, Math.min(post.getDescription().length(), 50)));
+                event.description().substring(0, Math.min(event.description().length(), 50)));
+        schedule(event.clubName(), body,
+                afterMemberId -> clubMemberRepository.findPostNotificationTokens(event.clubId(), afterMemberId, tokenChunk()));
+    }
 
-        sendNotificationsToTokens(title, body, tokens);
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onEventPublished(EventPublishedEvent event) {
+        String body = String.format("Yeni bir etkinlik düzenliyor: \"%s...\"",
+                event.description().substring(0, Math.min(event.description().length(), 50)));
+        schedule(event.clubName(), body,
+                afterMemberId -> clubMemberRepository.findEventNotificationTokens(event.clubId(), afterMemberId, tokenChunk()));
+    }
+
+    private void schedule(String title, String body, Function<Long, List<MemberTokenView>> chunkLoader) {
+        try {
+            fanoutExecutor.execute(() -> fanOut(title, body, chunkLoader));
+            scheduledFanouts.increment();
+        } catch (RejectedExecutionException e) {
+            droppedFanouts.increment();
+            System.err.println("Bildirim yayma kuyruğu dolu, bildirim atlandı: " + title);
+        }
     }
 
-    public void sendNewEventNotification(Event event) {
-        List<String> tokens = event.getClub().getMembers().stream()
-                .filter(member -> member.isEventNotificationsEnabled() && member.getUser().getFcmToken() != null)
-                .map(member -> member.getUser().getFcmToken())
-                .collect(Collectors.toList());
+    // Yayma iş parçacığında çalışır. Üyeler id sırasıyla (keyset) parça parça okunur; her parça kendi kısa
+    // okuma transaction'ında yüklenir, gönderim hattı dolduğunda bu iş parçacığı bekler.
+    private void fanOut(String title, String body, Function<Long, List<MemberTokenView>> chunkLoader) {
+        try {
+            Long afterMemberId = 0L;
+            List<MemberTokenView> chunk;
+            do {
+                chunk = chunkLoader.apply(afterMemberId);
+                afterMemberId = sendChunk(title, body, chunk, afterMemberId);
+            } while (chunk.size() == tokenChunkSize);
+        } catch (RuntimeException e) {
+            failedFanouts.increment();
+            System.err.println("Bildirim yayılırken hata: " + e.getMessage());
+        }
+    }
 
-        if (tokens.isEmpty()) return;
+    // Parçadaki token'ları gönderim hattına verir ve bir sonraki parçanın başlangıcını döndürür.
+    private Long sendChunk(String title, String body, List<MemberTokenView> chunk, Long afterMemberId) {
+        if (chunk.isEmpty()) {
+            return afterMemberId;
+        }
+        // Aynı cihazda birden fazla hesap açılmışsa token tekrar edebilir.
+        Set<String> tokens = new LinkedHashSet<>();
+        chunk.forEach(row -> tokens.add(row.getFcmToken()));
+        // Gönderim NotificationDispatcher'ın havuzunda, 500'lük multicast grupları halinde yapılır.
+        notificationDispatcher.dispatch(title, body, List.copyOf(tokens));
+        return chunk.get(chunk.size() - 1).getMemberId();
+    }
 
-        String title = event.getClub().getName();
-        String body = String.format("Yeni bir etkinlik düzenliyor: \"%s...\"",
-                event.getDescription().substring(0, Math.min(event.getDescription().length(), 50)));
+    private Pageable tokenChunk() {
+        return PageRequest.of(0, tokenChunkSize);
+    }
 
-        sendNotificationsToTokens(title, body, tokens);
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        fanoutExecutor.shutdown();
+        fanoutExecutor.awaitTermination(10, TimeUnit.SECONDS);
     }
 
-    private void sendNotificationsToTokens(String title, String body, List<String> tokens) {
-        Notification notification = Notification.builder()
-                .setTitle(title)
-                .setBody(body)
-                .build();
+    @Override
+    public String getMetricName() {
+        return "notificationFanout";
+    }
 
-        for (String token : tokens) {
-            Message message = Message.builder()
-                    .setNotification(notification)
-                    .setToken(token)
-                    .build();
-            try {
-                firebaseMessaging.send(message);
-                System.out.println("Bildirim başarıyla gönderildi: " + token);
-            } catch (FirebaseMessagingException e) {
-                System.err.println("Bildirim gönderilemedi: " + token + ", Hata: " + e.getMessage());
-            }
-        }
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("pending", fanoutExecutor.getQueue().size());
+        metrics.put("scheduled", scheduledFanouts.sum());
+        metrics.put("dropped", droppedFanouts.sum());
+        metrics.put("failed", failedFanouts.sum());
+        return metrics;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,5 @@
+package com.unihub.api.service;
+
+// Yeni gönderi oluşturulduğunda yayınlanır. Bildirimler transaction commit olduktan sonra gönderilir.
+public record PostPublishedEvent(Long postId, Long clubId, String clubName, String description) {
+}
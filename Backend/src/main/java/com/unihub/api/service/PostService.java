@@ -1,8 +1,5 @@
 package com.unihub.api.service;
 
-import com.google.cloud.storage.Blob;
-import com.google.cloud.storage.Bucket;
-import com.google.firebase.cloud.StorageClient;
 import com.unihub.api.controller.requests.PostCreationRequest;
 import com.unihub.api.controller.requests.PostUpdateRequest;
 import com.unihub.api.controller.responses.ClubSummaryResponse;
@@ -11,60 +8,129 @@ import com.unihub.api.controller.responses.PostSummaryResponse;
 import com.unihub.api.controller.responses.UserSummaryResponse;
 import com.unihub.api.model.*;
 import com.unihub.api.repository.*;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
-import com.google.firebase.cloud.StorageClient;
-import com.unihub.api.service.NotificationService;
-import java.net.URL;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class PostService {
 
     private final PostRepository postRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserService currentUserService;
     private final PostLikeRepository postLikeRepository;
+    private final PostImageRepository postImageRepository;
     private final ClubRepository clubRepository;
-    private final ClubMemberRepository clubMemberRepository;
-    private final StorageClient storageClient;
+    private final StorageCleanupService storageCleanupService;
     private final LogService  logService;
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TimelineService timelineService;
+    private final LikeBuffer likeBuffer;
+    private final ClubStatsService clubStatsService;
+    private final MembershipCache membershipCache;
+    private final TransactionTemplate readTransaction;
 
 
-    private static final String FIREBASE_STORAGE_BUCKET = "unihub-n.firebasestorage.app";
+    private static final int MAX_SUMMARY_READ_ATTEMPTS = 3;
 
 
-    public PostService(PostRepository postRepository, UserRepository userRepository,
-                       PostLikeRepository postLikeRepository, ClubRepository clubRepository,
-                       ClubMemberRepository clubMemberRepository, StorageClient storageClient
-    , LogService logService,NotificationService notificationService) {
+    public PostService(PostRepository postRepository, CurrentUserService currentUserService,
+                       PostLikeRepository postLikeRepository, PostImageRepository postImageRepository, ClubRepository clubRepository,
+                       StorageCleanupService storageCleanupService
+    , LogService logService, ApplicationEventPublisher eventPublisher, TimelineService timelineService,
+                       LikeBuffer likeBuffer, ClubStatsService clubStatsService, MembershipCache membershipCache,
+                       PlatformTransactionManager transactionManager) {
         this.postRepository = postRepository;
-        this.userRepository = userRepository;
+        this.currentUserService = currentUserService;
         this.postLikeRepository = postLikeRepository;
+        this.postImageRepository = postImageRepository;
         this.clubRepository = clubRepository;
-        this.clubMemberRepository = clubMemberRepository;
-        this.storageClient = storageClient;
+        this.storageCleanupService = storageCleanupService;
         this.logService = logService;
-        this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
+        this.timelineService = timelineService;
+        this.likeBuffer = likeBuffer;
+        this.clubStatsService = clubStatsService;
+        this.membershipCache = membershipCache;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
 
     }
 
-    @Transactional(readOnly = true)
     public List<PostSummaryResponse> getAllPosts(String firebaseUid) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
-        return postRepository.findAll().stream()
-                .map(post -> mapPostToSummaryDto(post, user.getId()))
+        User user = currentUserService.requireUser(firebaseUid);
+        return getPostSummaries(postRepository.findAllIds(Pageable.unpaged()), user.getId());
+    }
+
+    // Verilen id sırasını koruyarak gönderi özetlerini döndürür.
+    // Özet satırları ve resim URL'leri iki sorguda gelir; Post/PostLike/User entity'leri yüklenmez.
+    // Transaction içinden çağrılmamalıdır: tampon işareti, süren bir yazma turunun bitmesini kısa bir süre
+    // bekleyebilir ve bu bekleme bir veritabanı bağlantısı tutulurken yapılmaz. Her okuma denemesi
+    // işaret alındıktan sonra kendi kısa okuma transaction'ında yapılır.
+    public List<PostSummaryResponse> getPostSummaries(List<Long> postIds, Long currentUserId) {
+        if (postIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // Satırlar ile tampondaki bekleyen beğeniler arasına bir yazma turu girerse okuma tekrarlanır.
+        Map<Long, PostSummaryResponse> summariesById = null;
+        for (int attempt = 0; attempt < MAX_SUMMARY_READ_ATTEMPTS && summariesById == null; attempt++) {
+            long marker = likeBuffer.readMarker();
+            Map<Long, PostSummaryResponse> read = readTransaction.execute(status -> readSummaries(postIds, currentUserId));
+            if (likeBuffer.isConsistent(marker)) {
+                summariesById = read;
+            }
+        }
+        // Denemelerin hepsi bir yazma turuna denk geldiyse son okuma yazma turları bekletilerek yapılır.
+        if (summariesById == null) {
+            summariesById = likeBuffer.readWithoutFlush(
+                    () -> readTransaction.execute(status -> readSummaries(postIds, currentUserId)));
+        }
+
+        // Bu arada silinmiş gönderiler listeden düşer.
+        return postIds.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    private Map<Long, PostSummaryResponse> readSummaries(List<Long> postIds, Long currentUserId) {
+        Map<Long, List<String>> imageUrlsByPostId = new HashMap<>();
+        for (PostImageUrlView image : postImageRepository.findImageUrlsByPostIdIn(postIds)) {
+            imageUrlsByPostId.computeIfAbsent(image.getPostId(), id -> new ArrayList<>()).add(image.getImageUrl());
+        }
+
+        Map<Long, PostSummaryResponse> summariesById = new HashMap<>();
+        for (PostSummaryView row : postRepository.findSummariesByIdIn(postIds, currentUserId)) {
+            PostSummaryResponse dto = new PostSummaryResponse();
+            dto.id = row.getId();
+            dto.description = row.getDescription();
+            dto.creationDate = row.getCreationDate();
+            dto.clubName = row.getClubName();
+            dto.creatorName = row.getCreatorName();
+            // Tamponda bekleyen beğeniler de hesaba katılır.
+            dto.likeCount = row.getLikeCount() + likeBuffer.pendingDelta(row.getId());
+            dto.isLikedByCurrentUser = likeBuffer.pendingState(row.getId(), currentUserId).orElse(row.isLikedByCurrentUser());
+            dto.pictureURLs = imageUrlsByPostId.getOrDefault(row.getId(), new ArrayList<>());
+            summariesById.put(dto.id, dto);
+        }
+        return summariesById;
+    }
+
     public PostDetailResponse getPostById(Long postId, String firebaseUid) {
-        User currentUser = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found with firebaseUid: " + firebaseUid));
+        User currentUser = currentUserService.requireUser(firebaseUid);
 
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
@@ -74,10 +140,10 @@ public class PostService {
 
     @Transactional
     public PostDetailResponse createPostForClub(Long clubId, PostCreationRequest request, String creatorFirebaseUid) {
-        User creator = userRepository.findByFirebaseUid(creatorFirebaseUid).orElseThrow(() -> new RuntimeException("User not found."));
+        User creator = currentUserService.requireUser(creatorFirebaseUid);
 
-        clubMemberRepository.findByClubIdAndUserId(clubId, creator.getId())
-                .filter(member -> member.getRole() == Role.MANAGER || member.getRole() == Role.OWNER)
+        membershipCache.find(creator.getId(), clubId)
+                .filter(member -> member.role() == Role.MANAGER || member.role() == Role.OWNER)
                 .orElseThrow(() -> new SecurityException("User is not authorized to create posts for this club."));
         Club club = clubRepository.findById(clubId)
                 .orElseThrow(() -> new RuntimeException("Club not found."));
@@ -95,102 +161,73 @@ public class PostService {
         }
 
         Post savedPost = postRepository.save(newPost);
-        new Thread(() -> notificationService.sendNewPostNotification(savedPost)).start();
+        timelineService.fanOut(savedPost);
+        clubStatsService.onPostCreated(club.getId());
+        // Bildirimler NotificationService tarafından commit sonrasında gönderilir.
+        eventPublisher.publishEvent(new PostPublishedEvent(savedPost.getId(), club.getId(), club.getName(), savedPost.getDescription()));
         String action = String.format("'%s...' ile başlayan yeni bir gönderi oluşturdu.", request.description.substring(0, Math.min(request.description.length(), 20)));
         logService.logClubAction(clubId, creatorFirebaseUid, action);
         return mapPostToDetailDto(savedPost, creator.getId());
     }
 
 
-    @Transactional
+    // Transaction açılmaz: beğeni tampona yazılır ve özet getPostSummaries'in kendi okumasıyla döner.
     public PostSummaryResponse toggleLike(Long postId, String firebaseUid) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found."));
-
-        // Beğeninin, post'un kendi listesinde olup olmadığını kontrol et
-        Optional<PostLike> existingLike = post.getLikes().stream()
-                .filter(like -> like.getUser().getId().equals(user.getId()))
-                .findFirst();
-
-        if (existingLike.isPresent()) {
-            // Eğer beğeni varsa, onu post'un listesinden çıkar.
-            // orphanRemoval=true sayesinde bu, veritabanından da silinecektir.
-            post.getLikes().remove(existingLike.get());
-        } else {
-            // Eğer beğeni yoksa, yeni bir tane oluştur ve post'un listesine ekle.
-            // CascadeType.ALL sayesinde bu, veritabanına da eklenecektir.
-            PostLike newLike = new PostLike(user, post);
-            post.getLikes().add(newLike);
+        User user = currentUserService.requireUser(firebaseUid);
+        if (!postRepository.existsById(postId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found.");
         }
 
-        // Değişikliklerin (beğeni ekleme/silme) kalıcı olması için ana Post nesnesini kaydet.
-        Post updatedPost = postRepository.save(post);
+        // Beğeni önce bellekteki tampona yazılır ve istek hemen yanıtlanır;
+        // post_likes ve like_count güncellemeleri LikeBuffer tarafından toplu olarak yapılır.
+        likeBuffer.toggle(postId, user.getId());
 
-        return mapPostToSummaryDto(updatedPost, user.getId());
+        // Gönderi bu arada silinmiş olabilir; tampondaki kayıt yazma turunda gönderi bulunamadığı için atlanır.
+        return getPostSummaries(List.of(postId), user.getId()).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Post not found."));
     }
 
     @Transactional
     public void deletePost(Long postId, String firebaseUid) {
-        User currentUser = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        User currentUser = currentUserService.requireUser(firebaseUid);
 
         Post postToDelete = postRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("Post not found."));
 
         // Yetki Kontrolü
-        ClubMember membership = clubMemberRepository.findByClubIdAndUserId(postToDelete.getClub().getId(), currentUser.getId())
+        MembershipCache.Membership membership = membershipCache.find(currentUser.getId(), postToDelete.getClub().getId())
                 .orElse(null);
 
         boolean isCreator = postToDelete.getCreator().getId().equals(currentUser.getId());
-        boolean isClubManagerOrOwner = membership != null && (membership.getRole() == Role.OWNER || membership.getRole() == Role.MANAGER);
+        boolean isClubManagerOrOwner = membership != null && (membership.role() == Role.OWNER || membership.role() == Role.MANAGER);
 
         if (!isClubManagerOrOwner) {
             throw new SecurityException("User is not authorized to delete this post.");
         }
 
-        if (postToDelete.getImages() != null && !postToDelete.getImages().isEmpty()) {
-            Bucket bucket = storageClient.bucket(FIREBASE_STORAGE_BUCKET);
-
-            for (PostImage image : postToDelete.getImages()) {
-                try {
-                    URL url = new URL(image.getImageUrl());
-                    String path = url.getPath();
-                    String filePath = path.substring(("/v0/b/" + FIREBASE_STORAGE_BUCKET + "/o/").length());
-                    filePath = URLDecoder.decode(filePath, StandardCharsets.UTF_8);
-
-                    Blob blob = bucket.get(filePath);
-                    if (blob != null) {
-                        blob.delete();
-                        System.out.println("Dosya silindi: " + filePath);
-                    } else {
-                        System.out.println("Dosya bulunamadı: " + filePath);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Storage'dan dosya silinirken hata: " + e.getMessage());
-                }
-            }
-        }
+        // Resimler aynı transaction'da silme kuyruğuna yazılır, Storage'dan arka planda silinir.
+        storageCleanupService.enqueueUrls(postToDelete.getImages().stream().map(PostImage::getImageUrl).toList());
         // ----------------------------------------------------
         String action = String.format("'%s...' ile başlayan gönderiyi sildi.", postToDelete.getDescription().substring(0, Math.min(postToDelete.getDescription().length(), 20)));
         logService.logClubAction(postToDelete.getClub().getId(), firebaseUid, action);
+        timelineService.onPostDeleted(postId);
+        clubStatsService.onPostDeleted(postToDelete.getClub().getId());
         postRepository.delete(postToDelete);
     }
 
     @Transactional
     public PostDetailResponse updatePost(Long postId, PostUpdateRequest request, String firebaseUid) {
         // 1. Gerekli kullanıcı ve gönderi nesnelerini veritabanından çek
-        User currentUser = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        User currentUser = currentUserService.requireUser(firebaseUid);
 
         Post postToUpdate = postRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("Post not found."));
 
         // 2. Yetki Kontrolü: Sadece kulüp yöneticisi veya sahibi bu işlemi yapabilir
-        ClubMember membership = clubMemberRepository.findByClubIdAndUserId(postToUpdate.getClub().getId(), currentUser.getId())
+        MembershipCache.Membership membership = membershipCache.find(currentUser.getId(), postToUpdate.getClub().getId())
                 .orElse(null);
-        boolean isClubManagerOrOwner = membership != null && (membership.getRole() == Role.OWNER || membership.getRole() == Role.MANAGER);
+        boolean isClubManagerOrOwner = membership != null && (membership.role() == Role.OWNER || membership.role() == Role.MANAGER);
 
         if (!isClubManagerOrOwner) {
             throw new SecurityException("User is not authorized to edit this post.");
@@ -199,11 +236,17 @@ public class PostService {
         // 3. Gönderinin açıklamasını güncelle
         postToUpdate.setDescription(request.getDescription());
 
-        // 4. Silinmesi istenen fotoğrafları Firebase Storage'dan sil
+        // 4. Silinmesi istenen fotoğraflar Storage silme kuyruğuna yazılır. Sadece bu gönderiye ait olan ve
+        // yeni listede kalmayan resimler kabul edilir; istemci başka bir dosyanın silinmesini isteyemez.
         if (request.getImagesToDelete() != null && !request.getImagesToDelete().isEmpty()) {
-            for (String urlToDelete : request.getImagesToDelete()) {
-                deleteImageFromStorage(urlToDelete);
-            }
+            Set<String> currentImageUrls = postToUpdate.getImages().stream()
+                    .map(PostImage::getImageUrl)
+                    .collect(Collectors.toSet());
+            List<String> keptImageUrls = request.getPictureURLs() != null ? request.getPictureURLs() : List.of();
+            storageCleanupService.enqueueUrls(request.getImagesToDelete().stream()
+                    .filter(currentImageUrls::contains)
+                    .filter(url -> !keptImageUrls.contains(url))
+                    .toList());
         }
 
         // 5. Gönderinin mevcut resim listesini tamamen temizle.
@@ -231,54 +274,6 @@ public class PostService {
     }
     // --- DTO ÇEVİRME METODLARI ---
 
-    private void deleteImageFromStorage(String imageUrl) {
-        if (imageUrl == null || imageUrl.isEmpty()) return;
-        try {
-            Bucket bucket = storageClient.bucket(FIREBASE_STORAGE_BUCKET);
-            URL url = new URL(imageUrl);
-            String path = url.getPath();
-
-            // URL'den dosya yolunu doğru şekilde çıkar
-            String prefix = "/v0/b/" + FIREBASE_STORAGE_BUCKET + "/o/";
-            if (path.startsWith(prefix)) {
-                String filePath = path.substring(prefix.length());
-                filePath = URLDecoder.decode(filePath, StandardCharsets.UTF_8);
-
-                Blob blob = bucket.get(filePath);
-                if (blob != null) {
-                    blob.delete();
-                }
-            }
-        } catch (Exception e) {
-            // Hata olsa bile devam et, belki dosya zaten silinmiştir veya URL formatı farklıdır.
-            System.err.println("Storage'dan dosya silinirken hata: " + e.getMessage());
-        }
-    }
-
-    private PostSummaryResponse mapPostToSummaryDto(Post post, Long currentUserId) {
-        PostSummaryResponse dto = new PostSummaryResponse();
-        dto.id = post.getId();
-        dto.description = post.getDescription();
-        if (post.getImages() != null) {
-            dto.pictureURLs = post.getImages().stream()
-                    .map(PostImage::getImageUrl)
-                    .collect(Collectors.toList());
-        }
-        dto.creationDate = post.getCreationDate();
-        if (post.getClub() != null) dto.clubName = post.getClub().getName();
-        if (post.getCreator() != null) dto.creatorName = post.getCreator().getName();
-
-        if (post.getLikes() != null) {
-            dto.likeCount = post.getLikes().size();
-            dto.isLikedByCurrentUser = post.getLikes().stream()
-                    .anyMatch(like -> like.getUser().getId().equals(currentUserId));
-        } else {
-            dto.likeCount = 0;
-            dto.isLikedByCurrentUser = false;
-        }
-        return dto;
-    }
-
     private PostDetailResponse mapPostToDetailDto(Post post, Long currentUserId) {
         PostDetailResponse dto = new PostDetailResponse();
         dto.setId(post.getId());
@@ -303,16 +298,9 @@ public class PostService {
             dto.setCreator(mapUserToSummaryDto(post.getCreator()));
         }
 
-        if (post.getLikes() != null) {
-            dto.setLikeCount(post.getLikes().size());
-            if (currentUserId != null) {
-                dto.setCurrentLiked(post.getLikes().stream()
-                        .anyMatch(like -> like.getUser().getId().equals(currentUserId)));
-            }
-        } else {
-            dto.setLikeCount(0);
-            dto.setCurrentLiked(false);
-        }
+        dto.setLikeCount(post.getLikeCount() + likeBuffer.pendingDelta(post.getId()));
+        dto.setCurrentLiked(currentUserId != null && likeBuffer.pendingState(post.getId(), currentUserId)
+                .orElseGet(() -> postLikeRepository.existsByUserIdAndPostId(currentUserId, post.getId())));
 
         return dto;
     }
@@ -326,21 +314,4 @@ public class PostService {
         dto.profilePictureUrl = user.getProfilePictureUrl();
         return dto;
     }
-
-    // YARDIMCI METODLAR
-    private ClubMember findMembership(String firebaseUid, Long clubId, Role... allowedRoles) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
-        ClubMember membership = clubMemberRepository.findByClubIdAndUserId(clubId, user.getId())
-                .orElseThrow(() -> new RuntimeException("User is not a member of this club."));
-        if (allowedRoles == null || allowedRoles.length == 0) {
-            return membership;
-        }
-        for (Role allowedRole : allowedRoles) {
-            if (membership.getRole() == allowedRole) {
-                return membership;
-            }
-        }
-        throw new SecurityException("User does not have the required role for this action.");
-    }
 }
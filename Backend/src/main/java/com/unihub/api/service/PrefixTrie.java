@@ -0,0 +1,135 @@
+package com.unihub.api.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Yazarken tamamlama (typeahead) için bellek içi önek ağacı. Metin TurkishTextNormalizer ile
+// normalleştirilir ve hem metnin başından hem de her kelimenin başından itibaren ağaca eklenir; böylece
+// "kul" hem "Kulüp..." hem de "Müzik Kulübü" ile eşleşir. Her düğüm, altındaki kayıtları rank'e (örn. üye
+// sayısı) göre sıralı tutar; sorgu önek uzunluğu kadar düğüm gezip ilk k kaydı döner, tarama yapılmaz.
+// Bellek sınırlı kalsın diye ağaç MAX_DEPTH karakterden derine inmez; daha uzun önekler o derinlikteki
+// düğümün kayıtları üzerinde süzülür.
+public class PrefixTrie<T> {
+
+    private static final int MAX_DEPTH = 24;
+
+    private static final Comparator<Entry<?>> ORDER = Comparator.<Entry<?>>comparingLong(Entry::rank).reversed()
+            .thenComparing(Entry::text)
+            .thenComparingLong(Entry::id);
+
+    private final Node root = new Node();
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String text, long rank, T value) {
+        String normalized = TurkishTextNormalizer.normalize(text);
+        Entry<T> entry = new Entry<>(id, normalized, keys(normalized), rank, value);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            entries.put(id, entry);
+            for (String key : entry.keys()) {
+                Node node = root;
+                for (int i = 0; i < Math.min(key.length(), MAX_DEPTH); i++) {
+                    node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+                    node.entries.add(entry);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<T> complete(String prefix, int limit) {
+        String normalized = TurkishTextNormalizer.normalize(prefix);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < Math.min(normalized.length(), MAX_DEPTH) && node != null; i++) {
+                node = node.children.get(normalized.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            boolean beyondDepth = normalized.length() > MAX_DEPTH;
+            List<T> results = new ArrayList<>(limit);
+            for (Entry<T> entry : node.entries) {
+                if (beyondDepth && entry.keys().stream().noneMatch(key -> key.startsWith(normalized))) {
+                    continue;
+                }
+                results.add(entry.value());
+                if (results.size() == limit) {
+                    break;
+                }
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(long id) {
+        Entry<T> previous = entries.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String key : previous.keys()) {
+            removePath(root, key, 0, previous);
+        }
+    }
+
+    // Kaydı yol boyunca düğümlerden siler ve boşalan düğümleri ağaçtan ayırır.
+    private void removePath(Node parent, String key, int depth, Entry<T> entry) {
+        if (depth >= Math.min(key.length(), MAX_DEPTH)) {
+            return;
+        }
+        Node child = parent.children.get(key.charAt(depth));
+        if (child == null) {
+            return;
+        }
+        child.entries.remove(entry);
+        removePath(child, key, depth + 1, entry);
+        if (child.entries.isEmpty()) {
+            parent.children.remove(key.charAt(depth));
+        }
+    }
+
+    private static List<String> keys(String normalized) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return List.copyOf(keys);
+    }
+
+    private final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final NavigableSet<Entry<T>> entries = new TreeSet<>(ORDER);
+    }
+
+    private record Entry<T>(long id, String text, List<String> keys, long rank, T value) {
+    }
+}
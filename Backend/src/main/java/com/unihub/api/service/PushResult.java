@@ -0,0 +1,18 @@
+package com.unihub.api.service;
+
+// Tek bir cihaza gönderimin sonucu. errorCode sadece başarısız gönderimlerde doludur.
+public record PushResult(String token, Outcome outcome, String errorCode) {
+
+    public enum Outcome {
+        SENT,
+        // Geçici hata (FCM erişilemez, kota aşıldı vb.); aynı token'a tekrar denenebilir.
+        RETRYABLE,
+        // Token artık geçerli değil (UNREGISTERED / INVALID_ARGUMENT); kullanıcıdan silinmeli.
+        INVALID_TOKEN,
+        FAILED
+    }
+
+    public static PushResult sent(String token) {
+        return new PushResult(token, Outcome.SENT, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.unihub.api.service;
+
+import java.util.List;
+
+// Push bildirimlerini cihazlara ileten taraf. Üretimde FCM, yerelde sahte bir gönderici kullanılır
+// (unihub.notifications.sender=firebase|local).
+public interface PushSender {
+
+    // FCM'in tek istekte kabul ettiği en fazla token sayısı.
+    int MAX_TOKENS_PER_REQUEST = 500;
+
+    // Aynı bildirimi en fazla MAX_TOKENS_PER_REQUEST cihaza gönderir.
+    // Sonuçlar tokens listesiyle aynı sırada döner.
+    List<PushResult> send(String title, String body, List<String> tokens);
+}
@@ -0,0 +1,113 @@
+package com.unihub.api.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Veritabanındaki satırları bellek içi NgramIndex'te tutan arama indekslerinin ortak kısmı.
+// Uygulama açılırken ve unihub.search.rebuild-interval-ms aralıklarla indeks baştan kurulur; aradaki
+// değişiklikler commit sonrasında refresh(id) ile tek tek uygulanır. Tam kurulum sırasında gelen
+// refresh'ler kaydedilir ve yeni indeks devreye girdikten sonra tekrar uygulanır.
+public abstract class SearchIndexSupport<V, T> implements MetricSource {
+
+    private volatile NgramIndex<T> index = new NgramIndex<>();
+    private volatile boolean rebuilding;
+    private final Set<Long> refreshedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final AtomicLong lastRebuildMs = new AtomicLong();
+
+    protected abstract List<V> loadAll();
+
+    protected abstract Optional<V> loadOne(Long id);
+
+    protected abstract Long idOf(V row);
+
+    protected abstract String textOf(V row);
+
+    protected abstract long rankOf(V row);
+
+    protected abstract T toResult(V row);
+
+    // Satır indekse eklendiğinde/güncellendiğinde ve silindiğinde alt sınıfların ek yapılarını
+    // (örn. önek ağacı) güncel tutması içindir.
+    protected void onIndexed(V row) {
+    }
+
+    protected void onRemoved(Long id) {
+    }
+
+    public List<T> search(String query, int offset, int limit) {
+        searches.increment();
+        return index.search(query, offset, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${unihub.search.rebuild-interval-ms:600000}",
+            initialDelayString = "${unihub.search.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        rebuilding = true;
+        refreshedDuringRebuild.clear();
+        try {
+            List<V> rows = loadAll();
+            NgramIndex<T> rebuilt = new NgramIndex<>();
+            for (V row : rows) {
+                rebuilt.put(idOf(row), textOf(row), rankOf(row), toResult(row));
+            }
+            onRebuilt(rows);
+            index = rebuilt;
+        } finally {
+            rebuilding = false;
+        }
+        // Kurulum sırasında okunan anlık görüntüden daha yeni olabilecek kayıtlar yeniden okunur.
+        List<Long> pending = new ArrayList<>(refreshedDuringRebuild);
+        refreshedDuringRebuild.removeAll(pending);
+        pending.forEach(this::refresh);
+        lastRebuildMs.set(System.currentTimeMillis() - start);
+    }
+
+    // Tam kurulumda alt sınıfların ek yapılarını baştan oluşturması içindir.
+    protected void onRebuilt(List<V> rows) {
+    }
+
+    public void refresh(Long id) {
+        refreshes.increment();
+        if (rebuilding) {
+            refreshedDuringRebuild.add(id);
+        }
+        Optional<V> row = loadOne(id);
+        if (row.isPresent()) {
+            index.put(id, textOf(row.get()), rankOf(row.get()), toResult(row.get()));
+            onIndexed(row.get());
+        } else {
+            index.remove(id);
+            onRemoved(id);
+        }
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("documents", index.size());
+        metrics.put("searches", searches.sum());
+        metrics.put("refreshes", refreshes.sum());
+        metrics.put("lastRebuildMs", lastRebuildMs.get());
+        return metrics;
+    }
+}
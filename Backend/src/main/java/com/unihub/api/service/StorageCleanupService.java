@@ -0,0 +1,145 @@
+package com.unihub.api.service;
+
+import com.google.cloud.storage.BlobId;
+import com.unihub.api.model.StorageDeletion;
+import com.unihub.api.repository.StorageDeletionRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+// Silinen kayıtlara ait Storage dosyalarını arka planda, toplu olarak siler.
+// Silme isteği yapan işlem Storage'ı beklemez: dosyalar aynı transaction'da storage_deletion_outbox
+// tablosuna yazılır ve commit olduktan sonra görünür hale gelir. Periyodik işçi zamanı gelen satırları
+// gruplar halinde kiralar, BlobStore ile tek istekte siler ve satırları kaldırır. Hata alan grup artan
+// aralıklarla tekrar denenir; unihub.storage.cleanup-max-attempts denemeden sonra incelenmek üzere
+// tabloda bırakılır. Uygulama yeniden başlasa da bekleyen silmeler kaybolmaz.
+@Component
+public class StorageCleanupService implements MetricSource {
+
+    // Kiralanan grubun işlenmesi için verilen süre; işçi bu sürede bitiremezse satırlar tekrar alınabilir.
+    private static final long LEASE_SECONDS = 300;
+    private static final long MAX_RETRY_DELAY_MS = 3_600_000;
+    private static final int MAX_ERROR_LENGTH = 1024;
+
+    private final StorageDeletionRepository storageDeletionRepository;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBaseDelayMs;
+
+    private final LongAdder enqueuedFiles = new LongAdder();
+    private final LongAdder deletedFiles = new LongAdder();
+    private final LongAdder missingFiles = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    public StorageCleanupService(StorageDeletionRepository storageDeletionRepository, BlobStore blobStore,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${unihub.storage.cleanup-batch-size:100}") int batchSize,
+                                 @Value("${unihub.storage.cleanup-max-attempts:10}") int maxAttempts,
+                                 @Value("${unihub.storage.cleanup-retry-base-ms:30000}") long retryBaseDelayMs) {
+        this.storageDeletionRepository = storageDeletionRepository;
+        this.blobStore = blobStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBaseDelayMs = retryBaseDelayMs;
+    }
+
+    // İndirme URL'lerini kuyruğa ekler; tanınmayan URL'ler ve ortak dosyalar atlanır.
+    // Çağıranın transaction'ına katılır, silme geri alınırsa kuyruk kaydı da geri alınır.
+    @Transactional
+    public void enqueueUrls(Collection<String> fileUrls) {
+        enqueue(fileUrls.stream()
+                .map(StoragePaths::fromDownloadUrl)
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    @Transactional
+    public void enqueue(Collection<BlobId> blobIds) {
+        if (blobIds.isEmpty()) {
+            return;
+        }
+        String[] buckets = blobIds.stream().map(BlobId::getBucket).toArray(String[]::new);
+        String[] objectNames = blobIds.stream().map(BlobId::getName).toArray(String[]::new);
+        storageDeletionRepository.enqueueAll(buckets, objectNames, LocalDateTime.now());
+        enqueuedFiles.add(blobIds.size());
+    }
+
+    @Scheduled(fixedDelayString = "${unihub.storage.cleanup-interval-ms:5000}")
+    public synchronized void flush() {
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            List<StorageDeletion> batch = transactionTemplate.execute(status ->
+                    storageDeletionRepository.claimDue(now, now.plusSeconds(LEASE_SECONDS), maxAttempts, batchSize));
+            if (batch == null || batch.isEmpty()) {
+                return;
+            }
+            List<Long> ids = batch.stream().map(StorageDeletion::getId).toList();
+            List<BlobId> blobIds = batch.stream()
+                    .map(deletion -> BlobId.of(deletion.getBucket(), deletion.getObjectName()))
+                    .toList();
+
+            try {
+                List<Boolean> results = blobStore.delete(blobIds);
+                long deleted = results.stream().filter(Boolean.TRUE::equals).count();
+                deletedFiles.add(deleted);
+                missingFiles.add(results.size() - deleted);
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                System.err.println("STORAGE LOG: HATA! Dosyalar toplu silinemedi, sonra tekrar denenecek: " + e.getMessage());
+                markFailed(batch, ids, e);
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status -> storageDeletionRepository.deleteByIdIn(ids));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Bir gruptaki satırlar birlikte denendiği için deneme sayıları da birlikte artar; bekleme süresi
+    // grubun en çok denenmiş satırına göre iki katına çıkar.
+    private void markFailed(List<StorageDeletion> batch, List<Long> ids, RuntimeException e) {
+        int attempts = batch.stream().mapToInt(StorageDeletion::getAttempts).max().orElse(0);
+        long delayMs = Math.min(retryBaseDelayMs << Math.min(attempts, 20), MAX_RETRY_DELAY_MS);
+        String error = String.valueOf(e.getMessage());
+        String truncated = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        transactionTemplate.executeWithoutResult(status -> storageDeletionRepository.markFailed(
+                ids, LocalDateTime.now().plusNanos(delayMs * 1_000_000), truncated));
+    }
+
+    @Override
+    public String getMetricName() {
+        return "storageCleanup";
+    }
+
+    @Override
+    public Map<String, Number> getMetrics() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("pending", storageDeletionRepository.countByAttemptsLessThan(maxAttempts));
+        metrics.put("abandoned", storageDeletionRepository.countByAttemptsGreaterThanEqual(maxAttempts));
+        metrics.put("enqueuedFiles", enqueuedFiles.sum());
+        metrics.put("deletedFiles", deletedFiles.sum());
+        metrics.put("missingFiles", missingFiles.sum());
+        metrics.put("failedBatches", failedBatches.sum());
+        return metrics;
+    }
+}
@@ -0,0 +1,44 @@
+package com.unihub.api.service;
+
+import com.google.cloud.storage.BlobId;
+
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+
+// Firebase Storage indirme URL'lerini (https://.../v0/b/<bucket>/o/<yol>?alt=media&token=...) Storage
+// nesnelerine çevirir.
+public final class StoragePaths {
+
+    private static final String PATH_PREFIX = "/v0/b/";
+    private static final String OBJECT_SEPARATOR = "/o/";
+    // Varsayılan kulüp/kullanıcı fotoğrafları herkesin ortak kullandığı dosyalardır, asla silinmez.
+    private static final String SHARED_FILES_PREFIX = "public/";
+
+    private StoragePaths() {
+    }
+
+    // Tanınmayan URL'ler ve ortak dosyalar için null döner.
+    public static BlobId fromDownloadUrl(String fileUrl) {
+        if (fileUrl == null || fileUrl.isEmpty()) {
+            return null;
+        }
+        try {
+            String path = new URL(fileUrl).getPath();
+            int objectStart = path.indexOf(OBJECT_SEPARATOR);
+            if (!path.startsWith(PATH_PREFIX) || objectStart < 0) {
+                System.out.println("STORAGE LOG: UYARI! URL beklenen formatta değil, atlanıyor: " + fileUrl);
+                return null;
+            }
+            String bucket = path.substring(PATH_PREFIX.length(), objectStart);
+            String objectName = URLDecoder.decode(path.substring(objectStart + OBJECT_SEPARATOR.length()), StandardCharsets.UTF_8);
+            if (bucket.isEmpty() || objectName.isEmpty() || objectName.startsWith(SHARED_FILES_PREFIX)) {
+                return null;
+            }
+            return BlobId.of(bucket, objectName);
+        } catch (Exception e) {
+            System.out.println("STORAGE LOG: UYARI! URL çözümlenemedi, atlanıyor: " + fileUrl);
+            return null;
+        }
+    }
+}
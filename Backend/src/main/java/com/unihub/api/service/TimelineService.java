@@ -0,0 +1,61 @@
+package com.unihub.api.service;
+
+import com.unihub.api.model.Post;
+import com.unihub.api.repository.TimelineEntryRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Kullanıcı başına önceden hesaplanmış ana sayfa akışını (home_timeline_entries) yönetir.
+// Yazma tarafı gönderi/üyelik değişikliklerinden çağrılır, okuma tarafı FeedService tarafından kullanılır.
+@Service
+public class TimelineService {
+
+    private final TimelineEntryRepository timelineEntryRepository;
+
+    public TimelineService(TimelineEntryRepository timelineEntryRepository) {
+        this.timelineEntryRepository = timelineEntryRepository;
+    }
+
+    @Transactional
+    public void fanOut(Post post) {
+        timelineEntryRepository.fanOutPost(post.getId(), post.getClub().getId(), post.getCreationDate());
+    }
+
+    @Transactional
+    public void onMemberApproved(Long userId, Long clubId) {
+        timelineEntryRepository.backfillClubPosts(userId, clubId);
+    }
+
+    @Transactional
+    public void onMemberLeft(Long userId, Long clubId) {
+        timelineEntryRepository.deleteByUserIdAndClubId(userId, clubId);
+    }
+
+    @Transactional
+    public void onPostDeleted(Long postId) {
+        timelineEntryRepository.deleteByPostId(postId);
+    }
+
+    @Transactional
+    public void onClubDeleted(Long clubId) {
+        timelineEntryRepository.deleteByClubId(clubId);
+    }
+
+    @Transactional
+    public void onUserDeleted(Long userId) {
+        timelineEntryRepository.deleteByUserId(userId);
+    }
+
+    // Akıştan bir sayfa gönderi id'si döndürür. Akış her onaylı üyelik için eksiksizdir: mevcut üyelikler
+    // V1_1 göçüyle, yeni onaylananlar onMemberApproved ile doldurulur. Bu yüzden kısa bir sayfa akışın
+    // sonu demektir ve kulüp sorgusuna geri düşülmez.
+    @Transactional(readOnly = true)
+    public List<Long> findPostIds(Long userId, FeedCursor cursor, int page, int size) {
+        return cursor == null
+                ? timelineEntryRepository.findPostIds(userId, PageRequest.of(page, size))
+                : timelineEntryRepository.findPostIdsBefore(userId, cursor.getPosition(), cursor.getId(), PageRequest.of(0, size));
+    }
+}
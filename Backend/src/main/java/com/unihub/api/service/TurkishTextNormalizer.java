@@ -0,0 +1,51 @@
+package com.unihub.api.service;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+// Arama için metin normalleştirme. Önce Türkçe kurallarla küçük harfe çevrilir (İ -> i, I -> ı),
+// ardından Türkçe karakterler ASCII karşılıklarına katlanır (ı -> i, ş -> s, ğ -> g, ü -> u, ö -> o, ç -> c).
+// Böylece "İstanbul", "ISTANBUL" ve "istanbul" aynı anahtara düşer; klavyesinde Türkçe karakter olmayan
+// kullanıcı "Muzik" yazarak "Müzik Kulübü"nü bulabilir. Harf ve rakam dışındaki karakterler boşluk sayılır.
+public final class TurkishTextNormalizer {
+
+    private static final Locale TURKISH = Locale.forLanguageTag("tr-TR");
+
+    private TurkishTextNormalizer() {
+    }
+
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.toLowerCase(TURKISH);
+        StringBuilder folded = new StringBuilder(lower.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = foldTurkish(lower.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && folded.length() > 0) {
+                    folded.append(' ');
+                }
+                pendingSpace = false;
+                folded.append(c);
+            } else if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                pendingSpace = true;
+            }
+        }
+        // Kalan aksanlı harfler (é, â vb.) de temel harflerine indirgenir.
+        return Normalizer.normalize(folded, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+
+    private static char foldTurkish(char c) {
+        return switch (c) {
+            case 'ı' -> 'i';
+            case 'ş' -> 's';
+            case 'ğ' -> 'g';
+            case 'ü' -> 'u';
+            case 'ö' -> 'o';
+            case 'ç' -> 'c';
+            default -> c;
+        };
+    }
+}
@@ -0,0 +1,6 @@
+package com.unihub.api.service;
+
+// Kullanıcı oluşturulduğunda, profili güncellendiğinde veya silindiğinde yayınlanır.
+// Kullanıcı arama indeksi commit sonrasında bu kullanıcıyı yeniden okur.
+public record UserChangedEvent(Long userId) {
+}
@@ -0,0 +1,70 @@
+package com.unihub.api.service;
+
+import com.unihub.api.controller.responses.UserSummaryResponse;
+import com.unihub.api.repository.UserRepository;
+import com.unihub.api.repository.UserSearchView;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+// Kullanıcı adı ve soyadı üzerinde bellek içi arama indeksi (/api/users/search).
+@Component
+public class UserSearchIndex extends SearchIndexSupport<UserSearchView, UserSummaryResponse> {
+
+    private final UserRepository userRepository;
+
+    public UserSearchIndex(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    // Kayıt (AuthService.syncNewUser) transaction dışında çalıştığı için fallbackExecution açıktır.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        refresh(event.userId());
+    }
+
+    @Override
+    protected List<UserSearchView> loadAll() {
+        return userRepository.findAllSearchViews();
+    }
+
+    @Override
+    protected Optional<UserSearchView> loadOne(Long id) {
+        return userRepository.findSearchViewById(id);
+    }
+
+    @Override
+    protected Long idOf(UserSearchView user) {
+        return user.getId();
+    }
+
+    @Override
+    protected String textOf(UserSearchView user) {
+        return Objects.toString(user.getName(), "") + " " + Objects.toString(user.getSurname(), "");
+    }
+
+    @Override
+    protected long rankOf(UserSearchView user) {
+        return 0;
+    }
+
+    @Override
+    protected UserSummaryResponse toResult(UserSearchView user) {
+        UserSummaryResponse dto = new UserSummaryResponse();
+        dto.id = user.getId();
+        dto.studentID = user.getStudentID();
+        dto.name = user.getName();
+        dto.surname = user.getSurname();
+        dto.profilePictureUrl = user.getProfilePictureUrl();
+        return dto;
+    }
+
+    @Override
+    public String getMetricName() {
+        return "userSearch";
+    }
+}
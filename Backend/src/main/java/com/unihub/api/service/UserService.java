@@ -1,14 +1,17 @@
 package com.unihub.api.service;
 
-import com.google.cloud.storage.BlobId;
-import com.google.cloud.storage.Storage;
-import com.google.cloud.storage.StorageOptions;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseAuthException;
 import com.unihub.api.controller.requests.UserProfileUpdateRequest;
 import com.unihub.api.controller.responses.*;
 import com.unihub.api.model.*; // Role ve MembershipStatus için
+import com.unihub.api.repository.EventAttendeeRepository;
+import com.unihub.api.repository.EventRepository;
+import com.unihub.api.repository.EventWaitlistRepository;
 import com.unihub.api.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,9 +26,35 @@ import static com.unihub.api.service.AuthService.DEFAULT_USER_PICTURE_URL;
 public class UserService {
 
     private final UserRepository userRepository;
-
-    public UserService(UserRepository userRepository) {
+    private final TimelineService timelineService;
+    private final CurrentUserService currentUserService;
+    private final ClubStatsService clubStatsService;
+    private final UserSearchIndex userSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StorageCleanupService storageCleanupService;
+    private final EventRepository eventRepository;
+    private final EventWaitlistRepository eventWaitlistRepository;
+    private final EventAttendeeRepository eventAttendeeRepository;
+    private final EventSeatAllocator seatAllocator;
+
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    public UserService(UserRepository userRepository, TimelineService timelineService, CurrentUserService currentUserService,
+                       ClubStatsService clubStatsService, UserSearchIndex userSearchIndex,
+                       ApplicationEventPublisher eventPublisher, StorageCleanupService storageCleanupService,
+                       EventRepository eventRepository, EventWaitlistRepository eventWaitlistRepository,
+                       EventAttendeeRepository eventAttendeeRepository, EventSeatAllocator seatAllocator) {
         this.userRepository = userRepository;
+        this.timelineService = timelineService;
+        this.currentUserService = currentUserService;
+        this.clubStatsService = clubStatsService;
+        this.userSearchIndex = userSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.storageCleanupService = storageCleanupService;
+        this.eventRepository = eventRepository;
+        this.eventWaitlistRepository = eventWaitlistRepository;
+        this.eventAttendeeRepository = eventAttendeeRepository;
+        this.seatAllocator = seatAllocator;
     }
 
     public List<UserSummaryResponse> getAllUsers() {
@@ -44,8 +73,7 @@ public class UserService {
     }
     @Transactional
     public void updateFcmToken(String firebaseUid, String fcmToken) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found."));
+        User user = currentUserService.requireUser(firebaseUid);
         user.setFcmToken(fcmToken);
         userRepository.save(user);
     }
@@ -53,23 +81,22 @@ public class UserService {
     // Kendi profilini getirmek için firebaseUid kullanır.
     @Transactional(readOnly = true)
     public UserResponse getUserProfileByFirebaseUid(String firebaseUid) {
-        User user = userRepository.findByFirebaseUid(firebaseUid)
+        // findById, üyelikleri ve katılınan etkinlikleri tek sorguda getirir.
+        User user = userRepository.findById(currentUserService.requireUserId(firebaseUid))
                 .orElseThrow(() -> new RuntimeException("User not found with firebaseUid: " + firebaseUid));
 
         return mapUserToUserResponse(user);
     }
 
-    // İsimle kullanıcı arar.
-    public List<UserSummaryResponse> searchUsersByName(String name) {
-        return userRepository.findByNameContainingIgnoreCase(name)
-                .stream()
-                .map(this::mapUserToSummaryDto)
-                .collect(Collectors.toList());
+    // İsimle kullanıcı arar. Arama bellek içi indeksten yapılır, veritabanına gidilmez.
+    public List<UserSummaryResponse> searchUsersByName(String name, int page, int size) {
+        Pageable pageable = PageRequest.of(page, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        return userSearchIndex.search(name, (int) pageable.getOffset(), pageable.getPageSize());
     }
 
+    @Transactional
     public UserResponse updateUserProfile(String firebaseUid, UserProfileUpdateRequest request) {
-        User userToUpdate = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User not found with firebaseUid: " + firebaseUid));
+        User userToUpdate = currentUserService.requireUser(firebaseUid);
 
 
         if (request.name != null) userToUpdate.setName(request.name);
@@ -77,27 +104,17 @@ public class UserService {
         if (request.profilePictureUrl != null) userToUpdate.setProfilePictureUrl(request.profilePictureUrl);
 
         User updatedUser = userRepository.save(userToUpdate);
+        eventPublisher.publishEvent(new UserChangedEvent(updatedUser.getId()));
         return mapUserToUserResponse(updatedUser);
     }
 
     @Transactional
     public void deleteCurrentUser(String firebaseUid) {
-        User userToDelete = userRepository.findByFirebaseUid(firebaseUid)
-                .orElseThrow(() -> new RuntimeException("User to delete not found in local DB."));
+        User userToDelete = currentUserService.requireUser(firebaseUid);
         String photoUrl = userToDelete.getProfilePictureUrl();
+        // Profil fotoğrafı aynı transaction'da silme kuyruğuna yazılır, Storage'dan arka planda silinir.
         if (photoUrl != null && !photoUrl.equals(DEFAULT_USER_PICTURE_URL)) {
-            try {
-                Storage storage = StorageOptions.getDefaultInstance().getService();
-                BlobId blobId = BlobId.of("unihub-aea98.appspot.com", "profile_pictures/" + firebaseUid);
-                boolean deleted = storage.delete(blobId);
-                if (deleted) {
-                    System.out.println("Kullanıcının profil fotoğrafı Storage'dan başarıyla silindi.");
-                } else {
-                    System.out.println("Kullanıcının profil fotoğrafı Storage'da bulunamadı.");
-                }
-            } catch (Exception e) {
-                System.err.println("Storage'dan fotoğraf silinirken bir hata oluştu: " + e.getMessage());
-            }
+            storageCleanupService.enqueueUrls(List.of(photoUrl));
         }
 
         try {
@@ -107,12 +124,26 @@ public class UserService {
             System.err.println("Firebase user deletion failed, proceeding with DB deletion: " + e.getMessage());
         }
 
+        timelineService.onUserDeleted(userToDelete.getId());
+        clubStatsService.onUserDeleted(userToDelete.getId());
+        releaseEventSeats(userToDelete.getId());
         userRepository.delete(userToDelete);
+        currentUserService.evict(firebaseUid);
+        eventPublisher.publishEvent(new UserChangedEvent(userToDelete.getId()));
+        eventPublisher.publishEvent(new MembershipChangedEvent(userToDelete.getId(), null));
     }
 
     @Transactional
     public void deleteUnverifiedUser(String firebaseUid) {
-        userRepository.findByFirebaseUid(firebaseUid).ifPresent(userRepository::delete);
+        userRepository.findByFirebaseUid(firebaseUid).ifPresent(user -> {
+            timelineService.onUserDeleted(user.getId());
+            clubStatsService.onUserDeleted(user.getId());
+            releaseEventSeats(user.getId());
+            userRepository.delete(user);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+            eventPublisher.publishEvent(new MembershipChangedEvent(user.getId(), null));
+        });
+        currentUserService.evict(firebaseUid);
 
         try {
             FirebaseAuth.getInstance().deleteUser(firebaseUid);
@@ -134,10 +165,28 @@ public class UserService {
             throw new RuntimeException("Failed to delete user from Firebase.", e);
         }
 
-        // 3. Son olarak PostgreSQL'den kullanıcıyı sil.
+        // 3. Kullanıcının ana sayfa akışını temizle (bu tablo ilişki tanımlamadığı için cascade ile silinmez).
+        timelineService.onUserDeleted(userToDelete.getId());
+        clubStatsService.onUserDeleted(userToDelete.getId());
+        releaseEventSeats(userToDelete.getId());
+
+        // 4. Son olarak PostgreSQL'den kullanıcıyı sil.
         // Yukarıda ayarladığımız "cascade" sayesinde, bu komut çalıştığı an
         // bu kullanıcıya ait TÜM üyelikler, beğeniler, gönderiler vb. de otomatik olarak silinecektir.
         userRepository.delete(userToDelete);
+        currentUserService.evict(firebaseUid);
+        eventPublisher.publishEvent(new UserChangedEvent(userToDelete.getId()));
+        eventPublisher.publishEvent(new MembershipChangedEvent(userToDelete.getId(), null));
+    }
+
+    // Silinen kullanıcının katıldığı etkinliklerde koltuğu sayaçtan düşülür ve leaveEvent'teki gibi
+    // bekleme listesinden sıradaki kişi alınır. Kullanıcının kendi liste kayıtları önce silinir ki
+    // boşalan koltuğa kendisi alınmasın. Katılım satırları kullanıcıyla birlikte cascade ile silinir.
+    private void releaseEventSeats(Long userId) {
+        List<Long> attendedEventIds = eventAttendeeRepository.findEventIdsByUserId(userId);
+        eventRepository.decrementAttendeeCountsForUser(userId);
+        eventWaitlistRepository.deleteByUserId(userId);
+        attendedEventIds.forEach(seatAllocator::promoteWaitlisted);
     }
 
     private UserResponse mapUserToUserResponse(User user) {
@@ -0,0 +1,67 @@
+-- Başlangıç şemasından sonra eklenen sayaç, akış ve silme kuyruğu tabloları; mevcut verilerden doldurulur.
+-- Flyway'e geçmeden önce yeni sürümle açılmış veritabanlarında bu tablolar Hibernate tarafından oluşturulmuş
+-- olabilir, bu yüzden tüm adımlar IF NOT EXISTS / ON CONFLICT ile tekrar çalıştırılmaya dayanıklıdır.
+
+-- Gönderi beğeni sayacı: post_likes satırlarından sayılır.
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS like_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE posts p SET like_count = (SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.id);
+
+-- Kulüp sayaçları: ClubStatsRepository.insertMissing ile aynı sayımlar. Hareketlilik puanı yeni
+-- gönderi/etkinlik/üyelikle birikir, geçmiş için 0 ile başlar.
+CREATE TABLE IF NOT EXISTS club_stats (
+    club_id              BIGINT           PRIMARY KEY,
+    member_count         INTEGER          NOT NULL,
+    event_count          INTEGER          NOT NULL,
+    upcoming_event_count INTEGER          NOT NULL,
+    post_count           INTEGER          NOT NULL,
+    activity_score       DOUBLE PRECISION NOT NULL,
+    random_key           DOUBLE PRECISION NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_club_stats_member_count ON club_stats (member_count);
+CREATE INDEX IF NOT EXISTS idx_club_stats_event_count ON club_stats (event_count);
+CREATE INDEX IF NOT EXISTS idx_club_stats_activity_score ON club_stats (activity_score);
+CREATE INDEX IF NOT EXISTS idx_club_stats_random_key ON club_stats (random_key);
+
+INSERT INTO club_stats (club_id, member_count, event_count, upcoming_event_count, post_count, activity_score, random_key)
+SELECT c.id,
+       (SELECT COUNT(*) FROM club_members m WHERE m.club_id = c.id AND m.status = 'APPROVED'),
+       (SELECT COUNT(*) FROM events e WHERE e.club_id = c.id),
+       (SELECT COUNT(*) FROM events e WHERE e.club_id = c.id AND e.event_date > LOCALTIMESTAMP),
+       (SELECT COUNT(*) FROM posts p WHERE p.club_id = c.id),
+       0, random()
+FROM clubs c
+ON CONFLICT (club_id) DO NOTHING;
+
+-- Ana sayfa akışı: özellikten önce oluşan her onaylı üyelik için kulübün tüm gönderileri yazılır;
+-- sonrasında akış sadece gönderi paylaşımı ve üyelik onayı sırasında güncellenir.
+CREATE TABLE IF NOT EXISTS home_timeline_entries (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    post_id    BIGINT       NOT NULL,
+    club_id    BIGINT       NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_home_timeline_user_post UNIQUE (user_id, post_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_home_timeline_user_created ON home_timeline_entries (user_id, created_at, post_id);
+
+INSERT INTO home_timeline_entries (user_id, post_id, club_id, created_at)
+SELECT cm.user_id, p.id, p.club_id, p.creation_date
+FROM club_members cm
+JOIN posts p ON p.club_id = cm.club_id
+WHERE cm.status = 'APPROVED'
+ON CONFLICT (user_id, post_id) DO NOTHING;
+
+CREATE TABLE IF NOT EXISTS storage_deletion_outbox (
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    bucket          VARCHAR(255)  NOT NULL,
+    object_name     VARCHAR(1024) NOT NULL,
+    attempts        INTEGER       NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    created_at      TIMESTAMP(6)  NOT NULL,
+    last_error      VARCHAR(1024)
+);
+
+CREATE INDEX IF NOT EXISTS idx_storage_deletion_due ON storage_deletion_outbox (next_attempt_at, id);
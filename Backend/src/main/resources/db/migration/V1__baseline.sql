@@ -0,0 +1,120 @@
+-- Başlangıç şeması: Flyway'e geçilmeden önceki sürümde ddl-auto=create ile Hibernate'in ürettiği şemanın birebir aynısı.
+-- O sürümle oluşturulmuş veritabanları baseline-on-migrate ile bu adımı atlar; sonradan eklenen tablolar V1_1'dedir.
+
+CREATE TABLE users (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    studentid           BIGINT        NOT NULL,
+    firebase_uid        VARCHAR(255)  NOT NULL,
+    email               VARCHAR(255)  NOT NULL,
+    name                VARCHAR(255),
+    surname             VARCHAR(255),
+    university          VARCHAR(255),
+    faculty             VARCHAR(255),
+    department          VARCHAR(255),
+    profile_picture_url VARCHAR(255),
+    fcm_token           VARCHAR(1024),
+    CONSTRAINT uk_users_studentid UNIQUE (studentid),
+    CONSTRAINT uk_users_firebase_uid UNIQUE (firebase_uid),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE clubs (
+    id                  BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name                VARCHAR(255),
+    short_name          VARCHAR(10)   NOT NULL,
+    description         VARCHAR(255),
+    color               VARCHAR(255),
+    profile_picture_url VARCHAR(255),
+    university          VARCHAR(255),
+    faculty             VARCHAR(255),
+    department          VARCHAR(255),
+    CONSTRAINT uk_clubs_short_name UNIQUE (short_name)
+);
+
+CREATE TABLE club_members (
+    id                          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    club_id                     BIGINT,
+    user_id                     BIGINT,
+    name                        VARCHAR(255),
+    role                        VARCHAR(255) CHECK (role IN ('MEMBER', 'MANAGER', 'OWNER')),
+    status                      VARCHAR(255) CHECK (status IN ('PENDING', 'APPROVED', 'REJECTED')),
+    event_notifications_enabled BOOLEAN      NOT NULL,
+    post_notifications_enabled  BOOLEAN      NOT NULL,
+    CONSTRAINT fk_club_members_club FOREIGN KEY (club_id) REFERENCES clubs,
+    CONSTRAINT fk_club_members_user FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE club_logs (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    club_id       BIGINT       NOT NULL,
+    actor_user_id BIGINT       NOT NULL,
+    action        VARCHAR(255) NOT NULL,
+    timestamp     TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_club_logs_club FOREIGN KEY (club_id) REFERENCES clubs,
+    CONSTRAINT fk_club_logs_actor FOREIGN KEY (actor_user_id) REFERENCES users
+);
+
+CREATE TABLE events (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    club_id       BIGINT       NOT NULL,
+    user_id       BIGINT       NOT NULL,
+    description   VARCHAR(255),
+    location      VARCHAR(255),
+    pictureurl    VARCHAR(255),
+    event_date    TIMESTAMP(6),
+    creation_date TIMESTAMP(6),
+    CONSTRAINT fk_events_club FOREIGN KEY (club_id) REFERENCES clubs,
+    CONSTRAINT fk_events_user FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE event_attendees (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id  BIGINT       NOT NULL,
+    user_id   BIGINT       NOT NULL,
+    joined_at TIMESTAMP(6),
+    CONSTRAINT fk_event_attendees_event FOREIGN KEY (event_id) REFERENCES events,
+    CONSTRAINT fk_event_attendees_user FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE event_form_questions (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id      BIGINT       NOT NULL,
+    question_text VARCHAR(255) NOT NULL,
+    question_type VARCHAR(255) NOT NULL CHECK (question_type IN ('TEXT', 'BOOLEAN', 'PHONE', 'EMAIL')),
+    CONSTRAINT fk_event_form_questions_event FOREIGN KEY (event_id) REFERENCES events
+);
+
+CREATE TABLE event_form_answers (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    attendee_id BIGINT        NOT NULL,
+    question_id BIGINT        NOT NULL,
+    answer_text VARCHAR(1024) NOT NULL,
+    CONSTRAINT fk_event_form_answers_attendee FOREIGN KEY (attendee_id) REFERENCES event_attendees,
+    CONSTRAINT fk_event_form_answers_question FOREIGN KEY (question_id) REFERENCES event_form_questions
+);
+
+CREATE TABLE posts (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    club_id       BIGINT       NOT NULL,
+    user_id       BIGINT       NOT NULL,
+    description   VARCHAR(255),
+    creation_date TIMESTAMP(6),
+    CONSTRAINT fk_posts_club FOREIGN KEY (club_id) REFERENCES clubs,
+    CONSTRAINT fk_posts_user FOREIGN KEY (user_id) REFERENCES users
+);
+
+CREATE TABLE post_images (
+    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    post_id   BIGINT        NOT NULL,
+    image_url VARCHAR(1024) NOT NULL,
+    CONSTRAINT fk_post_images_post FOREIGN KEY (post_id) REFERENCES posts
+);
+
+CREATE TABLE post_likes (
+    id      BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    post_id BIGINT NOT NULL,
+    CONSTRAINT uk_post_likes_user_post UNIQUE (user_id, post_id),
+    CONSTRAINT fk_post_likes_user FOREIGN KEY (user_id) REFERENCES users,
+    CONSTRAINT fk_post_likes_post FOREIGN KEY (post_id) REFERENCES posts
+);
@@ -0,0 +1,41 @@
+-- Akış, kulüp sayfası ve üyelik sorgularının tam tablo taraması yerine indeks aralık taraması yapması için.
+-- Sütun sırası sorgulardaki eşitlik + sıralama anahtarını izler; (tarih, id) imleç sayfalamasıyla aynıdır.
+
+-- Kulüp sayfası gönderileri ve akış imleci: WHERE club_id [IN] ... ORDER BY creation_date DESC, id DESC.
+CREATE INDEX idx_posts_club_created ON posts (club_id, creation_date DESC, id DESC);
+-- Keşfet akışı (kulüp filtresi olmadan) aynı imleçle okunur.
+CREATE INDEX idx_posts_created ON posts (creation_date DESC, id DESC);
+CREATE INDEX idx_posts_user ON posts (user_id);
+
+-- Kulüp sayfası etkinlikleri: WHERE club_id = ? ORDER BY event_date DESC, id DESC. Aynı indeks
+-- yaklaşan etkinlik sayımında (club_id = ? AND event_date > ?) aralık taraması olarak kullanılır.
+CREATE INDEX idx_events_club_date ON events (club_id, event_date DESC, id DESC);
+-- Yaklaşan etkinlik akışı: WHERE event_date > now ORDER BY event_date, id. "Sadece yaklaşanlar" için
+-- kısmi indeks kurulamaz: indeks koşulundaki ifadeler sabit olmalıdır, now() kullanılamaz. Sabit bir tarih
+-- ise zamanla eskir; onun yerine bu indeks tarihe göre aralık taraması yapar ve geçmişi hiç okumaz.
+CREATE INDEX idx_events_date ON events (event_date, id);
+CREATE INDEX idx_events_user ON events (user_id);
+
+-- Üye listeleri, bekleyen istekler ve akışa dağıtım: WHERE club_id = ? AND status = ?.
+CREATE INDEX idx_club_members_club_status ON club_members (club_id, status);
+-- Kullanıcının üyelikleri ve (kullanıcı, kulüp) yetki kontrolleri.
+CREATE INDEX idx_club_members_user_club ON club_members (user_id, club_id);
+-- Bildirim token'larının üyelik id'sine göre parça parça okunması; sadece bildirimi açık üyeler.
+CREATE INDEX idx_club_members_post_notify ON club_members (club_id, id) WHERE post_notifications_enabled;
+CREATE INDEX idx_club_members_event_notify ON club_members (club_id, id) WHERE event_notifications_enabled;
+
+CREATE INDEX idx_event_attendees_event_user ON event_attendees (event_id, user_id);
+CREATE INDEX idx_event_attendees_user ON event_attendees (user_id);
+CREATE INDEX idx_event_form_questions_event ON event_form_questions (event_id);
+CREATE INDEX idx_event_form_answers_attendee ON event_form_answers (attendee_id);
+CREATE INDEX idx_event_form_answers_question ON event_form_answers (question_id);
+
+CREATE INDEX idx_club_logs_club_timestamp ON club_logs (club_id, timestamp DESC);
+CREATE INDEX idx_club_logs_actor ON club_logs (actor_user_id);
+
+CREATE INDEX idx_post_images_post ON post_images (post_id);
+CREATE INDEX idx_post_likes_post ON post_likes (post_id);
+
+-- Kulüp silme ve gönderi silmede akış kayıtlarının temizlenmesi.
+CREATE INDEX idx_home_timeline_club ON home_timeline_entries (club_id);
+CREATE INDEX idx_home_timeline_post ON home_timeline_entries (post_id);
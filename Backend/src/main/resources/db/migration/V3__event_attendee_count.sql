@@ -0,0 +1,7 @@
+-- Etkinlik detayında katılımcıları saymamak için tutulan sayaç; mevcut katılımlardan doldurulur.
+ALTER TABLE events ADD COLUMN attendee_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE events e SET attendee_count = (SELECT COUNT(*) FROM event_attendees ea WHERE ea.event_id = e.id);
+
+-- Katılımcı listesi sayfaları: WHERE event_id = ? ORDER BY id.
+CREATE INDEX idx_event_attendees_event_id ON event_attendees (event_id, id);
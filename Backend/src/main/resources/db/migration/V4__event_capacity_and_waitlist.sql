@@ -0,0 +1,33 @@
+-- Etkinlik kontenjanı (boş: sınırsız) ve kontenjan dolunca kullanılan bekleme listesi.
+ALTER TABLE events ADD COLUMN capacity INTEGER;
+
+-- Eşzamanlı "katıl" istekleri daha önce aynı kullanıcı için birden fazla satır oluşturabiliyordu.
+-- Benzersizlik kısıtından önce en eski satır bırakılır, diğerleri cevaplarıyla birlikte silinir.
+DELETE FROM event_form_answers a USING event_attendees d
+WHERE a.attendee_id = d.id
+  AND EXISTS (SELECT 1 FROM event_attendees k WHERE k.user_id = d.user_id AND k.event_id = d.event_id AND k.id < d.id);
+
+DELETE FROM event_attendees d
+WHERE EXISTS (SELECT 1 FROM event_attendees k WHERE k.user_id = d.user_id AND k.event_id = d.event_id AND k.id < d.id);
+
+UPDATE events e SET attendee_count = (SELECT COUNT(*) FROM event_attendees ea WHERE ea.event_id = e.id);
+
+-- Koltuk ayırma INSERT ... ON CONFLICT (user_id, event_id) ile yapılır. Kısıtın indeksi kullanıcının
+-- katılım kontrollerini de karşıladığı için V2'deki iki indeks gereksiz kalır.
+ALTER TABLE event_attendees ADD CONSTRAINT uk_event_attendees_user_event UNIQUE (user_id, event_id);
+DROP INDEX idx_event_attendees_event_user;
+DROP INDEX idx_event_attendees_user;
+
+CREATE TABLE event_waitlist (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id   BIGINT       NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_event_waitlist_event_user UNIQUE (event_id, user_id),
+    CONSTRAINT fk_event_waitlist_event FOREIGN KEY (event_id) REFERENCES events,
+    CONSTRAINT fk_event_waitlist_user FOREIGN KEY (user_id) REFERENCES users
+);
+
+-- Sıradaki kişi ve sıra numarası: WHERE event_id = ? ORDER BY id.
+CREATE INDEX idx_event_waitlist_event_id ON event_waitlist (event_id, id);
+CREATE INDEX idx_event_waitlist_user ON event_waitlist (user_id);
@@ -0,0 +1,14 @@
+-- Form doldurarak bekleme listesine giren kullanıcının cevapları. Listeden alındığında event_form_answers'a
+-- taşınır; bekleme listesi kaydı hangi yoldan silinirse silinsin (ayrılma, etkinlik/kulüp/kullanıcı silme)
+-- bekleyen cevaplar da onunla birlikte silinir.
+CREATE TABLE event_waitlist_answers (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    waitlist_id BIGINT        NOT NULL,
+    question_id BIGINT        NOT NULL,
+    answer_text VARCHAR(1024) NOT NULL,
+    CONSTRAINT fk_event_waitlist_answers_waitlist FOREIGN KEY (waitlist_id) REFERENCES event_waitlist ON DELETE CASCADE,
+    CONSTRAINT fk_event_waitlist_answers_question FOREIGN KEY (question_id) REFERENCES event_form_questions
+);
+
+CREATE INDEX idx_event_waitlist_answers_waitlist ON event_waitlist_answers (waitlist_id);
+CREATE INDEX idx_event_waitlist_answers_question ON event_waitlist_answers (question_id);
@@ -0,0 +1,171 @@
+package com.unihub.api.service;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Kontenjanlı bir etkinliğe aynı anda gelen "katıl" isteklerini gerçek bir PostgreSQL üzerinde dener.
+// Kilitler ve ON CONFLICT davranışı veritabanına ait olduğu için H2 gibi bir taklit kullanılmaz;
+// şema Flyway betiklerinden kurulur. Testin kendisi transaction açmaz, her çağrı kendi transaction'ında
+// çalışır ve diğer thread'ler commit edilmiş satırları görür.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(EventSeatAllocator.class)
+class EventSeatAllocatorConcurrencyTest {
+
+    private static final int CAPACITY = 20;
+    private static final int USERS = 100;
+    private static final int TAPS_PER_USER = 2;
+
+    private static EmbeddedPostgres postgres;
+
+    @Autowired
+    private EventSeatAllocator seatAllocator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long eventId;
+    private List<Long> userIds;
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) throws IOException {
+        if (postgres == null) {
+            postgres = EmbeddedPostgres.builder().start();
+        }
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @AfterAll
+    static void stopDatabase() throws IOException {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @BeforeEach
+    void createEvent() {
+        Long ownerId = insertUser(0);
+        Long clubId = jdbcTemplate.queryForObject(
+                "INSERT INTO clubs (name, short_name) VALUES ('Seat Test', 'SEAT') RETURNING id", Long.class);
+        eventId = jdbcTemplate.queryForObject(
+                "INSERT INTO events (club_id, user_id, description, event_date, creation_date, capacity) " +
+                        "VALUES (?, ?, 'Workshop', now() + interval '3 days', now(), ?) RETURNING id",
+                Long.class, clubId, ownerId, CAPACITY);
+        userIds = new ArrayList<>();
+        for (int i = 1; i <= USERS; i++) {
+            userIds.add(insertUser(i));
+        }
+    }
+
+    @Test
+    void concurrentRegistrationsNeverExceedCapacity() throws Exception {
+        Map<Long, Integer> reportedPositions = new ConcurrentHashMap<>();
+        Set<Long> seated = ConcurrentHashMap.newKeySet();
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        // Her kullanıcı iki kez tıklar: aynı kullanıcının eşzamanlı istekleri de tek koltuk/tek sıra almalıdır.
+        for (Long userId : userIds) {
+            for (int tap = 0; tap < TAPS_PER_USER; tap++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    EventSeatAllocator.Allocation allocation = seatAllocator.allocate(eventId, userId);
+                    if (allocation.seated()) {
+                        seated.add(userId);
+                    } else {
+                        reportedPositions.merge(userId, allocation.waitlistPosition(), (first, second) -> {
+                            assertEquals(first, second, "Aynı kullanıcıya iki farklı sıra verildi");
+                            return first;
+                        });
+                    }
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(CAPACITY, count("SELECT COUNT(*) FROM event_attendees WHERE event_id = ?", eventId));
+        assertEquals(CAPACITY, attendeeCount());
+        assertEquals(CAPACITY, seated.size());
+        assertEquals(0, count("SELECT COUNT(*) FROM (SELECT user_id FROM event_attendees WHERE event_id = ? " +
+                "GROUP BY user_id HAVING COUNT(*) > 1) duplicates", eventId));
+
+        // Bekleme listesi: oturan herkes dışındaki kullanıcılar, tekrarsız ve 1..N sırasıyla.
+        List<Long> waitlist = waitlistInOrder();
+        assertEquals(USERS - CAPACITY, waitlist.size());
+        assertEquals(USERS - CAPACITY, new HashSet<>(waitlist).size());
+        assertTrue(waitlist.stream().noneMatch(seated::contains));
+        for (int i = 0; i < waitlist.size(); i++) {
+            assertEquals(i + 1, reportedPositions.get(waitlist.get(i)),
+                    "Kullanıcıya bildirilen sıra listedeki yeriyle aynı olmalı");
+        }
+
+        // Yer açıldıkça liste ilk gelen ilk alınır sırasıyla boşalır; sayaç satır sayısıyla aynı kalır.
+        List<Long> leaving = new ArrayList<>(seated).subList(0, 3);
+        for (Long userId : leaving) {
+            assertTrue(seatAllocator.release(eventId, userId));
+        }
+        for (Long promoted : waitlist.subList(0, 3)) {
+            assertEquals(1, count("SELECT COUNT(*) FROM event_attendees WHERE event_id = ? AND user_id = ?",
+                    eventId, promoted));
+        }
+        assertEquals(waitlist.subList(3, waitlist.size()), waitlistInOrder());
+        assertEquals(CAPACITY, count("SELECT COUNT(*) FROM event_attendees WHERE event_id = ?", eventId));
+        assertEquals(CAPACITY, attendeeCount());
+    }
+
+    private Long insertUser(int index) {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO users (studentid, firebase_uid, email, name) VALUES (?, ?, ?, ?) RETURNING id",
+                Long.class, 100000L + index, "seat-user-" + index, "seat-user-" + index + "@test.local", "User " + index);
+    }
+
+    private List<Long> waitlistInOrder() {
+        return jdbcTemplate.queryForList("SELECT user_id FROM event_waitlist WHERE event_id = ? ORDER BY id",
+                Long.class, eventId);
+    }
+
+    private int attendeeCount() {
+        return jdbcTemplate.queryForObject("SELECT attendee_count FROM events WHERE id = ?", Integer.class, eventId);
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
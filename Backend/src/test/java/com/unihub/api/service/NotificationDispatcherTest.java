@@ -0,0 +1,180 @@
+package com.unihub.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Gönderim hattını FCM'e bağlanmadan, LocalPushSender üzerinden dener.
+// Gönderimler havuzda yapıldığı için her test shutdown() ile kuyruğun boşalmasını bekler.
+class NotificationDispatcherTest {
+
+    private static final int WORKERS = 4;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BASE_DELAY_MS = 200;
+    // İş parçacığı zamanlaması için bekleme süresi üst sınırına eklenen pay.
+    private static final long SCHEDULING_SLACK_MS = 150;
+
+    @Test
+    void splitsTokensIntoRequestsOfAtMost500() throws InterruptedException {
+        RecordingSender sender = new RecordingSender();
+        NotificationDispatcher dispatcher = newDispatcher(sender, new RecordingPruner());
+        List<String> tokens = tokens("device-", 1201);
+
+        dispatcher.dispatch("Yeni gönderi", "Kulübünde yeni bir gönderi var", tokens);
+        dispatcher.shutdown();
+
+        List<Integer> sizes = sender.calls.stream().map(call -> call.tokens().size()).sorted().toList();
+        assertEquals(List.of(201, 500, 500), sizes);
+        List<String> delivered = sender.calls.stream().flatMap(call -> call.tokens().stream()).sorted().toList();
+        assertEquals(tokens.stream().sorted().toList(), delivered);
+        assertEquals(3L, metric(dispatcher, "submittedBatches"));
+        assertEquals(1201L, metric(dispatcher, "sent"));
+    }
+
+    @Test
+    void retriesTransientFailuresWithJitteredBackoff() throws InterruptedException {
+        // Her token'ın ilk gönderimi geçici hata alır, ikinci gönderim başarılı olur.
+        RecordingSender sender = new RecordingSender() {
+            private final Set<String> failedOnce = ConcurrentHashMap.newKeySet();
+
+            @Override
+            List<PushResult> results(List<String> tokens) {
+                if (failedOnce.add(tokens.get(0))) {
+                    return tokens.stream()
+                            .map(token -> new PushResult(token, PushResult.Outcome.RETRYABLE, "UNAVAILABLE"))
+                            .collect(Collectors.toList());
+                }
+                return super.results(tokens);
+            }
+        };
+        NotificationDispatcher dispatcher = newDispatcher(sender, new RecordingPruner());
+
+        int batches = 24;
+        for (int i = 0; i < batches; i++) {
+            dispatcher.dispatch("Etkinlik", "Yeni etkinlik", List.of("batch-" + i + "-a", "batch-" + i + "-b"));
+        }
+        dispatcher.shutdown();
+
+        assertEquals(batches * 2, sender.calls.size());
+        assertEquals(batches * 2L, metric(dispatcher, "sent"));
+        assertEquals(batches * 2L, metric(dispatcher, "retried"));
+        assertEquals(0L, metric(dispatcher, "failed"));
+
+        // İlk tekrar 0 ile taban süre arasında rastgele bir beklemeden sonra yapılır.
+        List<Long> delays = new ArrayList<>();
+        for (int i = 0; i < batches; i++) {
+            String first = "batch-" + i + "-a";
+            List<Long> attempts = sender.calls.stream()
+                    .filter(call -> call.tokens().contains(first))
+                    .map(Call::atMs)
+                    .sorted()
+                    .toList();
+            assertEquals(2, attempts.size());
+            delays.add(attempts.get(1) - attempts.get(0));
+        }
+        assertTrue(Collections.max(delays) <= RETRY_BASE_DELAY_MS + SCHEDULING_SLACK_MS, "delays: " + delays);
+        // Sabit bir bekleme (jitter yok) tüm gruplarda aynı süreyi verirdi.
+        assertTrue(Collections.max(delays) - Collections.min(delays) > 20, "delays: " + delays);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() throws InterruptedException {
+        RecordingSender sender = new RecordingSender() {
+            @Override
+            List<PushResult> results(List<String> tokens) {
+                throw new IllegalStateException("FCM erişilemiyor");
+            }
+        };
+        NotificationDispatcher dispatcher = newDispatcher(sender, new RecordingPruner());
+
+        dispatcher.dispatch("Etkinlik", "Yeni etkinlik", tokens("device-", 3));
+        dispatcher.shutdown();
+
+        assertEquals(MAX_ATTEMPTS, sender.calls.size());
+        assertEquals(3L, metric(dispatcher, "failed"));
+        assertEquals(0L, metric(dispatcher, "sent"));
+    }
+
+    @Test
+    void reportsInvalidTokensToPrunerWithoutRetrying() throws InterruptedException {
+        RecordingSender sender = new RecordingSender();
+        RecordingPruner pruner = new RecordingPruner();
+        NotificationDispatcher dispatcher = newDispatcher(sender, pruner);
+        List<String> valid = tokens("device-", 700);
+        List<String> invalid = tokens("unregistered-", 5);
+        List<String> all = new ArrayList<>(valid);
+        all.addAll(3, invalid.subList(0, 2));
+        all.addAll(600, invalid.subList(2, 5));
+
+        dispatcher.dispatch("Yeni gönderi", "Kulübünde yeni bir gönderi var", all);
+        dispatcher.shutdown();
+
+        assertEquals(new HashSet<>(invalid), new HashSet<>(pruner.reported));
+        assertEquals(invalid.size(), pruner.reported.size());
+        // Geçersiz token'lar tekrar denenmez: her grup tek istekle gönderilir.
+        assertEquals(2, sender.calls.size());
+        assertEquals(700L, metric(dispatcher, "sent"));
+        assertEquals(5L, metric(dispatcher, "invalidTokens"));
+        assertEquals(0L, metric(dispatcher, "retried"));
+        assertEquals(5, pruner.getMetrics().get("pending"));
+    }
+
+    private static NotificationDispatcher newDispatcher(PushSender sender, FcmTokenPruner pruner) {
+        return new NotificationDispatcher(sender, pruner, WORKERS, 100, MAX_ATTEMPTS, RETRY_BASE_DELAY_MS, 1000);
+    }
+
+    private static List<String> tokens(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> prefix + i).collect(Collectors.toList());
+    }
+
+    private static long metric(MetricSource source, String name) {
+        Map<String, Number> metrics = source.getMetrics();
+        return metrics.get(name).longValue();
+    }
+
+    private record Call(List<String> tokens, long atMs) {
+    }
+
+    // LocalPushSender'ın sonuçlarını kullanır, her çağrıyı zamanıyla birlikte kaydeder.
+    private static class RecordingSender extends LocalPushSender {
+        final List<Call> calls = new CopyOnWriteArrayList<>();
+
+        @Override
+        public List<PushResult> send(String title, String body, List<String> tokens) {
+            calls.add(new Call(List.copyOf(tokens), System.currentTimeMillis()));
+            return results(tokens);
+        }
+
+        List<PushResult> results(List<String> tokens) {
+            return super.send("", "", tokens);
+        }
+    }
+
+    // Veritabanına yazmaz; sadece gönderim hattının bildirdiği token'ları toplar.
+    private static class RecordingPruner extends FcmTokenPruner {
+        final List<String> reported = new CopyOnWriteArrayList<>();
+
+        RecordingPruner() {
+            super(null, null, 500);
+        }
+
+        @Override
+        public void prune(Collection<String> tokens) {
+            reported.addAll(tokens);
+            super.prune(tokens);
+        }
+    }
+}